@@ -0,0 +1,83 @@
+package com.github.fbascheper.alerts.benchmark;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.util.mapper.telegram.TelegramMessageMapper;
+import com.github.fbascheper.alerts.util.tensorflow.ImageTensorEncoder;
+import com.github.fbascheper.kafka.connect.telegram.TgMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tensorflow.Tensor;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the handling of the image buffer of a frame, on its way to the TensorFlow model and the Telegram message.
+ * <p>
+ * Run with {@code -prof gc}: the normalized allocation rate ({@code gc.alloc.rate.norm}) must not grow with
+ * the resolution of the image, for either kind of buffer, as the image data is never copied onto the heap.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ImageBufferBenchmark {
+
+    private static final String CAPTION = "BEST MATCH: for image sample.jpg was burglar-alert (97.50% likely)";
+
+    @Param({SampleImages.ORIGINAL, "640x480", "1920x1080", "3840x2160"})
+    private String resolution;
+
+    /**
+     * The kind of buffer holding the image: {@code heap}, as read from Kafka, or {@code direct},
+     * like the memory-mapped images of the claim-check.
+     */
+    @Param({"heap", "direct"})
+    private String buffer;
+
+    private final ImageTensorEncoder imageEncoder = new ImageTensorEncoder();
+
+    private SerializableImage image;
+
+    @Setup
+    public void setUp() {
+        byte[] jpeg = SampleImages.jpeg(resolution);
+
+        ByteBuffer imageData;
+        if ("direct".equals(buffer)) {
+            imageData = ByteBuffer.allocateDirect(jpeg.length);
+            imageData.put(jpeg).flip();
+        } else {
+            imageData = ByteBuffer.wrap(jpeg);
+        }
+
+        image = new SerializableImage("sample-" + resolution + ".jpg", imageData, null, null, null);
+    }
+
+    @Benchmark
+    public long imageTensor() {
+        try (Tensor<String> tensor = imageEncoder.encode(image.getImageData())) {
+            return tensor.numBytes();
+        }
+    }
+
+    @Benchmark
+    public TgMessage photoMessage() {
+        return TelegramMessageMapper.photoMessage(image, CAPTION);
+    }
+}
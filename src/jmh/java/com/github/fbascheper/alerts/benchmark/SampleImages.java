@@ -0,0 +1,80 @@
+package com.github.fbascheper.alerts.benchmark;
+
+import com.github.fbascheper.alerts.util.common.FileUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Sample camera images used by the benchmarks.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class SampleImages {
+
+    /**
+     * Resolution parameter value for the bundled sample image, without any scaling.
+     */
+    public static final String ORIGINAL = "original";
+
+    private static final String SAMPLE_IMAGE = "images/sample-airplane.jpg";
+
+    private SampleImages() {
+        // prevent instantiation
+    }
+
+    /**
+     * Return the bundled sample image, scaled to a typical camera resolution.
+     *
+     * @param resolution {@value #ORIGINAL} or the resolution of the image, e.g. {@code 1920x1080}
+     * @return the JPEG encoded image
+     */
+    public static byte[] jpeg(String resolution) {
+        byte[] sample = FileUtils.readFile(SAMPLE_IMAGE);
+        if (ORIGINAL.equals(resolution)) {
+            return sample;
+        }
+
+        String[] dimensions = resolution.split("x");
+        int width = Integer.parseInt(dimensions[0]);
+        int height = Integer.parseInt(dimensions[1]);
+
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(sample));
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+            Graphics2D graphics = scaled.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+            graphics.dispose();
+
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.9f);
+
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(result)) {
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(scaled, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            return result.toByteArray();
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not scale sample image to " + resolution, ex);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.fbascheper.alerts.benchmark;
+
+import com.github.fbascheper.alerts.model.nuki.NukiRestApiResponse;
+import com.github.fbascheper.alerts.util.common.FileUtils;
+import com.github.fbascheper.alerts.util.mapper.nuki.SmartLockMapper;
+import org.apache.kafka.streams.KeyValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the mapping of Nuki Web API responses to the state of the alerting system.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SmartLockMapperBenchmark {
+
+    private String json;
+    private NukiRestApiResponse response;
+
+    @Setup
+    public void setUp() {
+        json = new String(FileUtils.readFile("nuki/smartlocks.json"), StandardCharsets.UTF_8);
+        response = SmartLockMapper.toNukiResponse(json);
+    }
+
+    @Benchmark
+    public NukiRestApiResponse toNukiResponse() {
+        return SmartLockMapper.toNukiResponse(json);
+    }
+
+    @Benchmark
+    public List<KeyValue<String, Integer>> alertingEnabledMapper() {
+        return SmartLockMapper.alertingEnabledMapper(null, response);
+    }
+
+    @Benchmark
+    public List<KeyValue<String, Integer>> pollToAlertingState() {
+        return SmartLockMapper.alertingEnabledMapper(null, SmartLockMapper.toNukiResponse(json));
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.fbascheper.alerts.benchmark;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.util.image.PhotoRenderer;
+import com.github.fbascheper.alerts.util.mapper.telegram.TelegramMessageMapper;
+import com.github.fbascheper.kafka.connect.telegram.TgMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the mapping of classified images to Telegram messages.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TelegramMessageMapperBenchmark {
+
+    private static final String CAPTION = "BEST MATCH: for image sample.jpg was burglar-alert (97.50% likely)";
+
+    @Param({SampleImages.ORIGINAL, "1920x1080"})
+    private String resolution;
+
+    private final PhotoRenderer photoRenderer = new PhotoRenderer(1280, 0.8f);
+
+    private SerializableImage image;
+
+    @Setup
+    public void setUp() {
+        image = new SerializableImage("sample-" + resolution + ".jpg", ByteBuffer.wrap(SampleImages.jpeg(resolution)), null, null, null);
+    }
+
+    @Benchmark
+    public TgMessage photoMessage() {
+        return TelegramMessageMapper.photoMessage(image, CAPTION);
+    }
+
+    @Benchmark
+    public TgMessage renderedPhotoMessage() {
+        return TelegramMessageMapper.photoMessage(image, CAPTION, photoRenderer);
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.fbascheper.alerts.benchmark;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.common.FileUtils;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import com.github.fbascheper.alerts.util.tensorflow.ImagePreprocessing;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowInferenceEngine;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowMatcher;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the classification of images by {@link TensorFlowMatcher}, with either way of preprocessing images.
+ * <p>
+ * Requires the TensorFlow model in {@value #MODEL}, see the README in that directory.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class TensorFlowMatcherBenchmark {
+
+    static final String MODEL = "tensorflow/model/saved_fine_tuned_model.pb";
+
+    private static final int BATCH_SIZE = 8;
+
+    @Param({SampleImages.ORIGINAL, "640x480", "1280x720", "1920x1080"})
+    private String resolution;
+
+    @Param({"GRAPH", "JAVA"})
+    private ImagePreprocessing preprocessing;
+
+    private TensorFlowInferenceEngine engine;
+    private SerializableImage image;
+    private List<SerializableImage> batch;
+
+    @Setup
+    public void setUp() {
+        engine = new TensorFlowInferenceEngine(TensorFlowModel.of(FileUtils.readFile(MODEL)), preprocessing, StageMetrics.NONE);
+        image = new SerializableImage("sample-" + resolution + ".jpg", ByteBuffer.wrap(SampleImages.jpeg(resolution)), null, null, null);
+        batch = Collections.nCopies(BATCH_SIZE, image);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public ImageClassification matchImage() {
+        return TensorFlowMatcher.matchImage(engine, image);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<ImageClassification> matchImages() {
+        return TensorFlowMatcher.matchImages(engine, batch);
+    }
+}
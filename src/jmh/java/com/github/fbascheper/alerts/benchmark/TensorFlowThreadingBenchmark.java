@@ -0,0 +1,80 @@
+package com.github.fbascheper.alerts.benchmark;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.common.FileUtils;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import com.github.fbascheper.alerts.util.tensorflow.ImagePreprocessing;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowInferenceEngine;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowMatcher;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowModel;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowSessionOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the thread pools of the TensorFlow sessions, sweeping the intra-op and inter-op threads.
+ * <p>
+ * Each benchmark thread has its own engine, like each stream thread has its own engine, and all engines of a fork
+ * share the process-global thread pools of TensorFlow, which are sized by the first session of the JVM. Run this
+ * benchmark with the number of stream threads, e.g. {@code -t 4}, to find the settings with the best throughput
+ * and latency. A value of {@code 0} uses the default of the application for that number of threads.
+ * </p>
+ * <p>
+ * Requires the TensorFlow model in {@value TensorFlowMatcherBenchmark#MODEL}, see the README in that directory.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class TensorFlowThreadingBenchmark {
+
+    @Param({"0", "1", "2", "4", "8"})
+    private int intraOpThreads;
+
+    @Param({"0", "1", "2", "4"})
+    private int interOpThreads;
+
+    private TensorFlowInferenceEngine engine;
+    private SerializableImage image;
+
+    @Setup
+    public void setUp(BenchmarkParams params) {
+        TensorFlowSessionOptions sessionOptions =
+                TensorFlowSessionOptions.forConcurrentSessions(intraOpThreads, interOpThreads, params.getThreads());
+
+        engine = new TensorFlowInferenceEngine(TensorFlowModel.of(FileUtils.readFile(TensorFlowMatcherBenchmark.MODEL)),
+                ImagePreprocessing.GRAPH, sessionOptions, StageMetrics.NONE);
+        image = new SerializableImage("sample.jpg", ByteBuffer.wrap(SampleImages.jpeg("1280x720")), null, null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public ImageClassification matchImage() {
+        return TensorFlowMatcher.matchImage(engine, image);
+    }
+}
@@ -1,29 +1,75 @@
 package com.github.fbascheper.alerts;
 
+import com.github.fbascheper.alerts.model.avro.AlertBurst;
+import com.github.fbascheper.alerts.model.avro.CachedClassification;
+import com.github.fbascheper.alerts.model.avro.EmittedAlertingState;
+import com.github.fbascheper.alerts.model.avro.FrameFingerprint;
 import com.github.fbascheper.alerts.model.avro.SerializableImage;
 import com.github.fbascheper.alerts.model.avro.SerializableSmartLock;
 import com.github.fbascheper.alerts.model.nuki.NukiRestApiResponse;
 import com.github.fbascheper.alerts.model.state.BurglarAlertState;
 import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.streams.AlertBurstCoalescingTransformer;
+import com.github.fbascheper.alerts.streams.AlertingDisabledCondition;
+import com.github.fbascheper.alerts.streams.AlertingStateChangeTransformer;
+import com.github.fbascheper.alerts.streams.AsyncImageClassificationTransformer;
+import com.github.fbascheper.alerts.streams.BatchingImageClassificationTransformer;
+import com.github.fbascheper.alerts.streams.CameraAccounts;
+import com.github.fbascheper.alerts.streams.FrameFingerprintRecorder;
+import com.github.fbascheper.alerts.streams.ImageClassificationTransformer;
+import com.github.fbascheper.alerts.streams.ImageDeduplicationTransformer;
+import com.github.fbascheper.alerts.streams.InferenceBackpressure;
+import com.github.fbascheper.alerts.streams.InferenceCacheLookupTransformer;
+import com.github.fbascheper.alerts.streams.InferenceCacheRecorder;
+import com.github.fbascheper.alerts.streams.InferenceMode;
+import com.github.fbascheper.alerts.streams.MotionDetectionTransformer;
+import com.github.fbascheper.alerts.util.common.ApplicationConfig;
 import com.github.fbascheper.alerts.util.common.FileUtils;
+import com.github.fbascheper.alerts.util.health.ReadinessProbe;
+import com.github.fbascheper.alerts.util.image.ImageBlobStore;
+import com.github.fbascheper.alerts.util.image.PhotoRenderer;
+import com.github.fbascheper.alerts.util.kafka.ClaimCheckImageSerde;
 import com.github.fbascheper.alerts.util.kafka.KafkaStreamsConfig;
 import com.github.fbascheper.alerts.util.kafka.KafkaTopic;
+import com.github.fbascheper.alerts.util.kafka.PausableTopic;
+import com.github.fbascheper.alerts.util.kafka.PausableTopicClientSupplier;
+import com.github.fbascheper.alerts.util.kafka.ResumeMode;
 import com.github.fbascheper.alerts.util.mapper.nuki.SmartLockMapper;
 import com.github.fbascheper.alerts.util.mapper.telegram.TelegramMessageMapper;
-import com.github.fbascheper.alerts.util.tensorflow.TensorFlowMatcher;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyStage;
+import com.github.fbascheper.alerts.util.tensorflow.ImagePreprocessing;
+import com.github.fbascheper.alerts.util.tensorflow.InferenceCache;
+import com.github.fbascheper.alerts.util.tensorflow.InferenceWarmUp;
+import com.github.fbascheper.alerts.util.tensorflow.ScreeningModel;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowModelManager;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowSessionOptions;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowWorkerPool;
 import com.github.fbascheper.kafka.connect.telegram.TgMessage;
 import io.confluent.kafka.serializers.AbstractKafkaAvroSerDeConfig;
 import io.confluent.kafka.streams.serdes.avro.SpecificAvroSerde;
+import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KafkaClientSupplier;
 import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.Topology;
 import org.apache.kafka.streams.kstream.*;
 import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.StoreBuilder;
+import org.apache.kafka.streams.state.Stores;
 import org.slf4j.Logger;
 
 import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -43,33 +89,145 @@ public class BurglarAlertsApplication {
 
     private static final String SINK_TOPIC_BURGLAR_ALERTS = KafkaTopic.TELEGRAM_BURGLAR_ALERT.getName();
 
-    // topics used to post data for our global KTables
+    // topics used to post data for our KTables
     private static final String BURGLAR_ALERTING_STATE_TOPIC = KafkaTopic.ALERTING_ENABLED_STATE.getName();
     private static final String BURGLAR_ALERTING_STATE_STORE = "burglar-alerting-state-store";
 
+    // store holding the last state of alerting passed on for each account
+    private static final String BURGLAR_ALERTING_STATE_CHANGE_STORE = "burglar-alerting-state-change-store";
+
+    // store holding a thumbnail of the previous image of each camera
+    private static final String MOTION_THUMBNAIL_STORE = "motion-thumbnail-store";
+
+    // store holding the classifications of images, keyed by the hash of their contents
+    private static final String INFERENCE_CACHE_STORE = "inference-cache-store";
+
+    // name of the join of the camera images with the state of alerting, which names its repartition topic
+    private static final String CAMERA_IMAGES_BY_ACCOUNT = "camera-images-by-account";
+
+    // store holding the images whose classification is pending
+    private static final String PENDING_IMAGE_STORE = "pending-image-store";
+
+    // store holding the fingerprint of the last classified image of each camera
+    private static final String FRAME_FINGERPRINT_STORE = "frame-fingerprint-store";
+
+    // stores holding the open burst of burglar alerts of each camera, and the best image of that burst
+    private static final String ALERT_BURST_STORE = "alert-burst-store";
+    private static final String ALERT_BURST_IMAGE_STORE = "alert-burst-image-store";
+
     public static void main(final String[] args) {
 
-        // Create TensorFlow objects
-        byte[] tfGgraphDef = FileUtils.readFile("tensorflow/model/saved_fine_tuned_model.pb");
+        ApplicationConfig config = ApplicationConfig.load();
+
+        Properties streamsConfiguration = KafkaStreamsConfig.buildStreamsConfiguration(config);
+        String schemaRegistryUrl = streamsConfiguration.getProperty(AbstractKafkaAvroSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG);
+
+        // Report liveness right away, and readiness once inference is warmed up and Kafka Streams is running
+        ReadinessProbe readinessProbe = new ReadinessProbe(config.getInt("health.port"), config.getString("health.ready-file"));
+
+        // Metrics of the stages of the topology, exposed through JMX next to the Kafka Streams metrics
+        TopologyMetrics metrics = new TopologyMetrics(streamsConfiguration.getProperty(StreamsConfig.CLIENT_ID_CONFIG));
+
+        // Size the process-global thread pools of TensorFlow for the sessions which run concurrently: one for each
+        // stream thread (shared by all its tasks), or for each worker thread when using asynchronous inference
+        int configuredWorkerThreads = config.getInt("inference.async.threads");
+        int workerThreads = configuredWorkerThreads > 0 ? configuredWorkerThreads : Runtime.getRuntime().availableProcessors();
+        int concurrentSessions = config.getEnum("inference.mode", InferenceMode.class) == InferenceMode.ASYNC
+                ? workerThreads
+                : Integer.parseInt(streamsConfiguration.getProperty(StreamsConfig.NUM_STREAM_THREADS_CONFIG, "1"));
+        TensorFlowSessionOptions sessionOptions = TensorFlowSessionOptions.forConcurrentSessions(
+                config.getInt("inference.intra-op-threads"), config.getInt("inference.inter-op-threads"), concurrentSessions);
+
+        // Optionally screen the images with a small model first, so only uncertain images are classified by the full model
+        String screeningModelPath = config.getString("screening.model.path");
+        ScreeningModel screening = screeningModelPath.isEmpty()
+                ? null
+                : ScreeningModel.read(Paths.get(screeningModelPath),
+                (float) config.getDouble("screening.min-alert-probability"), (float) config.getDouble("screening.max-alert-probability"));
+
+        // Create TensorFlow objects, using either the model on the classpath or a model file which is watched for new versions
+        String modelPath = config.getString("model.path");
+        ImagePreprocessing preprocessing = config.getEnum("inference.preprocessing", ImagePreprocessing.class);
+        TensorFlowModelManager modelManager = modelPath.isEmpty()
+                ? new TensorFlowModelManager(FileUtils.readFile("tensorflow/model/saved_fine_tuned_model.pb"), preprocessing, sessionOptions, screening, metrics)
+                : TensorFlowModelManager.watching(Paths.get(modelPath), preprocessing, sessionOptions, screening, metrics);
+
+        // Worker pool used for asynchronous inference; its threads and TensorFlow sessions are only created when used
+        TensorFlowWorkerPool workerPool = new TensorFlowWorkerPool(modelManager, workerThreads, metrics);
+
+        // Mapping of cameras to the accounts whose smart-locks determine the state of their alerting system
+        CameraAccounts cameraAccounts = new CameraAccounts(config.getMap("camera.accounts"), config.getString("camera.default-account"));
+
+        // Optionally stop fetching camera images while the alerting system is disabled for all accounts, instead of discarding them
+        List<PausableTopic> pausableTopics = new ArrayList<>();
+        AlertingDisabledCondition alertingDisabled = new AlertingDisabledCondition(BURGLAR_ALERTING_STATE_STORE, cameraAccounts.accountIds());
+        if (config.getBoolean("camera.pause-when-disabled")) {
+            pausableTopics.add(new PausableTopic(SOURCE_TOPIC_CAMERA_IMAGES, alertingDisabled, config.getEnum("camera.resume-mode", ResumeMode.class)));
+        }
 
-        Properties streamsConfiguration = KafkaStreamsConfig.buildStreamsConfiguration(
-                "tf-burglar-alerts", " /tmp",
-                KafkaStreamsConfig.KAFKA_BOOTSTRAP_SERVERS,
-                KafkaStreamsConfig.KAFKA_SCHEMA_REGISTRY_URL);
+        // Stop fetching the images which are classified asynchronously while the worker threads can't keep up
+        InferenceBackpressure backpressure = new InferenceBackpressure();
+        if (config.getEnum("inference.mode", InferenceMode.class) == InferenceMode.ASYNC) {
+            String repartitionTopic = streamsConfiguration.getProperty(StreamsConfig.APPLICATION_ID_CONFIG) + "-" + CAMERA_IMAGES_BY_ACCOUNT + "-repartition";
+            pausableTopics.add(new PausableTopic(repartitionTopic, backpressure, ResumeMode.CATCH_UP));
+        }
 
-        KafkaStreams streams = createStreams(
-                streamsConfiguration, KafkaStreamsConfig.KAFKA_SCHEMA_REGISTRY_URL, tfGgraphDef);
+        KafkaClientSupplier clientSupplier = new PausableTopicClientSupplier(pausableTopics);
+
+        // Optionally keep the image data out of the internal topics and state stores, in a local blob store (claim-check)
+        ImageBlobStore imageBlobStore = config.getBoolean("image.claim-check.enabled")
+                ? new ImageBlobStore(Paths.get(config.getString("image.claim-check.directory")),
+                Duration.ofMillis(config.getLong("image.claim-check.max-age-ms")), config.getLong("image.claim-check.max-bytes"))
+                : null;
+
+        Topology topology = createTopology(
+                schemaRegistryUrl, config, cameraAccounts, modelManager, workerPool, backpressure, imageBlobStore, metrics);
+        KafkaStreams streams = new KafkaStreams(topology, streamsConfiguration, clientSupplier);
+        alertingDisabled.setStreams(streams);
+
+        // Release the TensorFlow engines of a stream thread which dies; those of the other threads are released on shutdown
+        streams.setUncaughtExceptionHandler((thread, ex) -> {
+            LOGGER.error("Stream thread " + thread.getName() + " died", ex);
+            modelManager.closeThreadEngineHolder(thread);
+        });
+
+        // Only wipe the local state when asked to, as restoring the state stores from their changelog topics takes time
+        if (config.getBoolean("state.cleanup-on-start")) {
+            LOGGER.warn("Deleting local state directory {}", streamsConfiguration.getProperty(StreamsConfig.STATE_DIR_CONFIG));
+            streams.cleanUp();
+        }
+
+        // Warm up inference before processing the first camera image, including the worker threads when used
+        InferenceWarmUp.run(modelManager, Math.max(1, config.getInt("warm-up.iterations")), metrics);
+        if (config.getEnum("inference.mode", InferenceMode.class) == InferenceMode.ASYNC) {
+            workerPool.warmUp();
+        }
+        readinessProbe.warmedUp();
+        readinessProbe.setStreams(streams);
 
-        streams.cleanUp();
         // start processing
         streams.start();
         // Add shutdown hook to respond to SIGTERM and gracefully close Kafka Streams
-        Runtime.getRuntime().addShutdownHook(new Thread(streams::close));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            readinessProbe.close();
+            streams.close();
+            workerPool.close();
+            modelManager.close();
+            if (imageBlobStore != null) {
+                imageBlobStore.close();
+            }
+            metrics.close();
+        }));
     }
 
-    private static KafkaStreams createStreams(Properties streamsConfiguration,
-                                              String schemaRegistryUrl,
-                                              byte[] tfGraphDef) {
+    static Topology createTopology(String schemaRegistryUrl,
+                                   ApplicationConfig config,
+                                   CameraAccounts cameraAccounts,
+                                   TensorFlowModelManager modelManager,
+                                   TensorFlowWorkerPool workerPool,
+                                   InferenceBackpressure backpressure,
+                                   ImageBlobStore imageBlobStore,
+                                   TopologyMetrics metrics) {
 
         // create and configure Serdes required
         Map<String, String> serdeConfig =
@@ -78,6 +236,14 @@ public class BurglarAlertsApplication {
         SpecificAvroSerde<SerializableSmartLock> smartLockSerde = new SpecificAvroSerde<>();
         smartLockSerde.configure(serdeConfig, false);
 
+        SpecificAvroSerde<SerializableImage> avroImageSerde = new SpecificAvroSerde<>();
+        avroImageSerde.configure(serdeConfig, false);
+
+        // serde of the images in the internal (repartition) topic and the state stores
+        Serde<SerializableImage> imageSerde = imageBlobStore != null
+                ? new ClaimCheckImageSerde(avroImageSerde, imageBlobStore)
+                : avroImageSerde;
+
         SpecificAvroSerde<TgMessage> telegramMessageSerde = new SpecificAvroSerde<>();
         telegramMessageSerde.configure(serdeConfig, false);
 
@@ -95,17 +261,28 @@ public class BurglarAlertsApplication {
                         .filter((key, value) -> value != null);
 
         // ----------------------------------------------------------------------------------------------------
-        // Determine current state of alerting (enabled, disabled) based on the result of the last REST poll
-        KStream<String, Integer> alertingEnabledStateStream =
-                nukiRestApiResponseStream.map(SmartLockMapper::alertingEnabledMapper);
+        // Determine current state of alerting (enabled, disabled) of each account, based on the result of the last REST poll,
+        // and only pass it on when it has changed (or, optionally, when the heartbeat interval has passed)
+        SpecificAvroSerde<EmittedAlertingState> emittedAlertingStateSerde = new SpecificAvroSerde<>();
+        emittedAlertingStateSerde.configure(serdeConfig, false);
+
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.persistentKeyValueStore(BURGLAR_ALERTING_STATE_CHANGE_STORE), Serdes.String(), emittedAlertingStateSerde));
+
+        Duration heartbeat = Duration.ofMillis(config.getLong("alerting-state.heartbeat-ms"));
+
+        KStream<String, Integer> alertingEnabledStateStream = (cameraAccounts.isCombined()
+                ? nukiRestApiResponseStream.map(SmartLockMapper::combinedAlertingEnabledMapper)
+                : nukiRestApiResponseStream.flatMap(SmartLockMapper::alertingEnabledMapper))
+                .transform(() -> new AlertingStateChangeTransformer(BURGLAR_ALERTING_STATE_CHANGE_STORE, heartbeat), BURGLAR_ALERTING_STATE_CHANGE_STORE);
 
         // Send this to a KStream
         alertingEnabledStateStream.to(BURGLAR_ALERTING_STATE_TOPIC, Produced.with(Serdes.String(), Serdes.Integer()));
 
-        // Create a global table containing the current state of alerting (enabled, disabled).
-        // The data from this global table will be fully replicated on each instance of this application.
-        GlobalKTable<String, Integer> alertingEnabledGlobalKTable =
-                builder.globalTable(BURGLAR_ALERTING_STATE_TOPIC, Materialized.<String, Integer, KeyValueStore<Bytes, byte[]>>as(BURGLAR_ALERTING_STATE_STORE)
+        // Create a table containing the current state of alerting (enabled, disabled) keyed by accountId.
+        // Each instance of this application only holds the state of the partitions assigned to it.
+        KTable<String, Integer> alertingEnabledTable =
+                builder.table(BURGLAR_ALERTING_STATE_TOPIC, Materialized.<String, Integer, KeyValueStore<Bytes, byte[]>>as(BURGLAR_ALERTING_STATE_STORE)
                         .withKeySerde(Serdes.String())
                         .withValueSerde(Serdes.Integer()));
 
@@ -114,42 +291,234 @@ public class BurglarAlertsApplication {
         KStream<String, byte[]> cameraSourceStream = builder
                 .stream(SOURCE_TOPIC_CAMERA_IMAGES, Consumed.with(Serdes.String(), Serdes.ByteArray()));
 
-        // Filter out all images when alert state is disabled (i.e. any lock is open)
-        KStream<String, byte[]> filteredSourceStream = cameraSourceStream
-                .leftJoin(alertingEnabledGlobalKTable,
-                        (filename, image) -> SmartLockMapper.ALERT_STATE,
+        // Map images into Avro object for serialization, keyed by the accountId of their camera,
+        // so they're repartitioned to be co-partitioned with the alerting state of that account
+        KStream<String, SerializableImage> accountImageStream = cameraSourceStream
+                .filter((filename, image) -> {
+                    if (cameraAccounts.accountId(filename) == null) {
+                        LOGGER.warn("No accountId configured for the camera of image {} --> discard image", filename);
+                        return false;
+                    }
+                    return true;
+                })
+                .map((filename, value) -> {
+                    long start = System.nanoTime();
+                    SerializableImage image = new SerializableImage(filename, ByteBuffer.wrap(value), null, null, null);
+
+                    metrics.stage(TopologyStage.AVRO_WRAP).recordLatency(start);
+                    metrics.stage(TopologyStage.AVRO_WRAP).recordPassed();
+                    return KeyValue.pair(cameraAccounts.accountId(filename), image);
+                });
+
+        // Filter out all images when alert state of their account is disabled (i.e. any lock is open),
+        // and key the remaining images by their filename again. The images stay in the partition of their account.
+        KStream<String, SerializableImage> imageStream = accountImageStream
+                .leftJoin(alertingEnabledTable,
                         (image, enabled) -> {
+                            if (ClaimCheckImageSerde.isEvicted(image)) {
+                                LOGGER.warn("Image data of {} has been evicted from the image blob store --> discard image", image.getName());
+                                metrics.stage(TopologyStage.ALERT_STATE_JOIN).recordDropped();
+                                return null;
+                            }
                             if (BurglarAlertState.SEND_MESSAGES_ENABLED.getValue().equals(enabled)) {
                                 LOGGER.debug("   +++ Burglar alert system is enabled --> pass image through to TensorFlow");
+                                metrics.stage(TopologyStage.ALERT_STATE_JOIN).recordPassed();
                                 return image;
                             } else {
                                 LOGGER.debug("   --- Burglar alert system is disabled --> discard image");
-                                return new byte[]{};
+                                metrics.stage(TopologyStage.ALERT_STATE_JOIN).recordDropped();
+                                return null;
                             }
-                        })
-                .filter((key, value) -> value.length > 0);
+                        },
+                        Joined.with(Serdes.String(), imageSerde, Serdes.Integer()).withName(CAMERA_IMAGES_BY_ACCOUNT))
+                .filter((accountId, image) -> image != null)
+                .selectKey((accountId, image) -> image.getName());
 
-        // Map images into Avro object for serialization
-        KStream<String, SerializableImage> imageStream = filteredSourceStream
-                .mapValues((readOnlyKey, value) -> new SerializableImage(readOnlyKey, ByteBuffer.wrap(value)));
+        // Filter out all images without motion, compared to the previous image of the same camera. The thumbnails are
+        // kept per camera, which relies on all images of a camera being in the partition of its account.
+        if (config.getBoolean("motion.enabled")) {
+            builder.addStateStore(Stores.keyValueStoreBuilder(
+                    Stores.persistentKeyValueStore(MOTION_THUMBNAIL_STORE), Serdes.String(), Serdes.ByteArray()));
 
-        KStream<String, ImageClassification> burglarAlertStream = imageStream
-                .mapValues((readOnlyKey, image) -> TensorFlowMatcher.matchImage(tfGraphDef, image))
-//                .filter((key, imgClass) -> imgClass.getClassification() == Classification.BURGLAR_ALERT)
-                ;
+            int pixelThreshold = config.getInt("motion.pixel-threshold");
+            double motionThreshold = config.getDouble("motion.threshold");
+            Map<String, Double> cameraMotionThresholds = new HashMap<>();
+            config.getMap("motion.camera-thresholds").forEach((camera, threshold) -> cameraMotionThresholds.put(camera, Double.valueOf(threshold)));
 
-        KStream<String, TgMessage> telegramPhotoMessage = burglarAlertStream
-                .mapValues((readOnlyKey, imageClassification) -> {
-                    String caption = imageClassification.toString();
+            imageStream = imageStream
+                    .transformValues(() -> new MotionDetectionTransformer(
+                            MOTION_THUMBNAIL_STORE, pixelThreshold, motionThreshold, cameraMotionThresholds, metrics), MOTION_THUMBNAIL_STORE)
+                    .filter((key, value) -> value != null);
+        }
 
-                    LOGGER.debug(">>> Sending telegram message with caption {}", caption);
-                    return TelegramMessageMapper.photoMessage(imageClassification.getImage(), caption);
-                });
+        // Reuse the classification of images which have been classified before, e.g. when a camera uploads the same file
+        // again, or when images are processed again after a rebalance or a reset of the application
+        InferenceCache inferenceCache = null;
+        String inferenceCacheStore = null;
+        KStream<String, ImageClassification> cachedClassificationStream = null;
+        if (config.getBoolean("inference.cache.enabled")) {
+            inferenceCache = new InferenceCache(config.getInt("inference.cache.max-entries"));
+
+            if (config.getBoolean("inference.cache.store.enabled")) {
+                SpecificAvroSerde<CachedClassification> cachedClassificationSerde = new SpecificAvroSerde<>();
+                cachedClassificationSerde.configure(serdeConfig, false);
+
+                Duration retention = Duration.ofMillis(config.getLong("inference.cache.store.retention-ms"));
+                builder.addStateStore(Stores.windowStoreBuilder(
+                        Stores.persistentWindowStore(INFERENCE_CACHE_STORE, retention, Duration.ofMillis(1), false),
+                        Serdes.String(), cachedClassificationSerde));
+                inferenceCacheStore = INFERENCE_CACHE_STORE;
+            }
+
+            InferenceCache cache = inferenceCache;
+            String cacheStore = inferenceCacheStore;
+
+            @SuppressWarnings("unchecked")
+            KStream<String, ImageClassification>[] cacheStreams = imageStream
+                    .transformValues(() -> new InferenceCacheLookupTransformer(cache, cacheStore, modelManager, metrics), storeNames(cacheStore))
+                    .branch((key, imageClassification) -> imageClassification.isClassified(),
+                            (key, imageClassification) -> true);
+
+            cachedClassificationStream = cacheStreams[0];
+            imageStream = cacheStreams[1].mapValues(ImageClassification::getImage);
+        }
+
+        // Classify images using a TensorFlow model, unless they're nearly identical to the last classified image
+        // of the same camera, in which case the classification of that image is reused. The fingerprints are kept
+        // per camera, which relies on all images of a camera being in the partition of its account.
+        KStream<String, ImageClassification> burglarAlertStream;
+        if (config.getBoolean("dedup.enabled")) {
+            SpecificAvroSerde<FrameFingerprint> frameFingerprintSerde = new SpecificAvroSerde<>();
+            frameFingerprintSerde.configure(serdeConfig, false);
+
+            builder.addStateStore(Stores.keyValueStoreBuilder(
+                    Stores.persistentKeyValueStore(FRAME_FINGERPRINT_STORE), Serdes.String(), frameFingerprintSerde));
+
+            int maxHashDistance = config.getInt("dedup.max-hash-distance");
+
+            @SuppressWarnings("unchecked")
+            KStream<String, ImageClassification>[] dedupStreams = imageStream
+                    .transformValues(() -> new ImageDeduplicationTransformer(FRAME_FINGERPRINT_STORE, maxHashDistance, modelManager, metrics), FRAME_FINGERPRINT_STORE)
+                    .branch((key, imageClassification) -> imageClassification.isClassified(),
+                            (key, imageClassification) -> true);
+
+            burglarAlertStream = classifyImages(builder, dedupStreams[1].mapValues(ImageClassification::getImage), config, modelManager, workerPool,
+                    backpressure, imageSerde, inferenceCache, inferenceCacheStore, metrics)
+                    .transformValues(() -> new FrameFingerprintRecorder(FRAME_FINGERPRINT_STORE), FRAME_FINGERPRINT_STORE)
+                    .merge(dedupStreams[0]);
+
+        } else {
+            burglarAlertStream = classifyImages(builder, imageStream, config, modelManager, workerPool, backpressure, imageSerde,
+                    inferenceCache, inferenceCacheStore, metrics);
+        }
+
+        if (cachedClassificationStream != null) {
+            burglarAlertStream = burglarAlertStream.merge(cachedClassificationStream);
+        }
+//        burglarAlertStream = burglarAlertStream.filter((key, imgClass) -> imgClass.getClassification() == Classification.BURGLAR_ALERT);
+
+        // Send a single telegram message for each burst of images of a camera with at least one burglar alert,
+        // or a telegram message for each classified image when coalescing is disabled
+        PhotoRenderer photoRenderer = new PhotoRenderer(
+                config.getInt("telegram.photo.max-dimension"), (float) config.getDouble("telegram.photo.jpeg-quality"));
+
+        KStream<String, TgMessage> telegramPhotoMessage;
+        if (config.getBoolean("alert.coalescing.enabled")) {
+            SpecificAvroSerde<AlertBurst> alertBurstSerde = new SpecificAvroSerde<>();
+            alertBurstSerde.configure(serdeConfig, false);
+
+            builder.addStateStore(Stores.keyValueStoreBuilder(
+                    Stores.persistentKeyValueStore(ALERT_BURST_STORE), Serdes.String(), alertBurstSerde));
+            builder.addStateStore(Stores.keyValueStoreBuilder(
+                    Stores.persistentKeyValueStore(ALERT_BURST_IMAGE_STORE), Serdes.String(), imageSerde));
+
+            Duration gap = Duration.ofMillis(config.getLong("alert.coalescing.gap-ms"));
+            Duration maxWait = Duration.ofMillis(config.getLong("alert.coalescing.max-wait-ms"));
+
+            telegramPhotoMessage = burglarAlertStream
+                    .transform(() -> new AlertBurstCoalescingTransformer(ALERT_BURST_STORE, ALERT_BURST_IMAGE_STORE, gap, maxWait, photoRenderer, metrics),
+                            ALERT_BURST_STORE, ALERT_BURST_IMAGE_STORE);
+
+        } else {
+            telegramPhotoMessage = burglarAlertStream
+                    .mapValues((readOnlyKey, imageClassification) -> {
+                        long start = System.nanoTime();
+                        String caption = imageClassification.toString();
+
+                        LOGGER.debug(">>> Sending telegram message with caption {}", caption);
+                        TgMessage message = TelegramMessageMapper.photoMessage(imageClassification.getImage(), caption, photoRenderer);
+
+                        metrics.stage(TopologyStage.TELEGRAM_MAPPING).recordLatency(start);
+                        metrics.stage(TopologyStage.TELEGRAM_MAPPING).recordPassed();
+                        return message;
+                    });
+        }
 
         // Send prediction information to telegram topic (sink)
         telegramPhotoMessage.to(SINK_TOPIC_BURGLAR_ALERTS, Produced.with(Serdes.String(), telegramMessageSerde));
 
-        return new KafkaStreams(builder.build(), streamsConfiguration);
+        return builder.build();
+    }
+
+    /**
+     * Classify images using a TensorFlow model, which is loaded once for each stream thread (or worker thread),
+     * and record their classifications in the inference cache (when it's enabled).
+     */
+    private static KStream<String, ImageClassification> classifyImages(StreamsBuilder builder,
+                                                                       KStream<String, SerializableImage> imageStream,
+                                                                       ApplicationConfig config,
+                                                                       TensorFlowModelManager modelManager,
+                                                                       TensorFlowWorkerPool workerPool,
+                                                                       InferenceBackpressure backpressure,
+                                                                       Serde<SerializableImage> imageSerde,
+                                                                       InferenceCache inferenceCache,
+                                                                       String inferenceCacheStore,
+                                                                       TopologyMetrics metrics) {
+        KStream<String, ImageClassification> result;
+
+        InferenceMode inferenceMode = config.getEnum("inference.mode", InferenceMode.class);
+        if (inferenceMode == InferenceMode.BATCH || inferenceMode == InferenceMode.ASYNC) {
+            StoreBuilder<KeyValueStore<String, SerializableImage>> pendingImageStore = Stores.keyValueStoreBuilder(
+                    Stores.persistentKeyValueStore(PENDING_IMAGE_STORE), Serdes.String(), imageSerde);
+
+            // With the claim-check, the store only holds references to the images. Without it, logging the store would
+            // write the data of each image to the broker once more, so the pending images are only kept locally: they
+            // survive a restart, but not a move of their task to another instance.
+            if (!(imageSerde instanceof ClaimCheckImageSerde)) {
+                pendingImageStore.withLoggingDisabled();
+            }
+            builder.addStateStore(pendingImageStore);
+        }
+
+        if (inferenceMode == InferenceMode.BATCH) {
+            int maxBatchSize = config.getInt("inference.batch.max-size");
+            Duration maxWait = Duration.ofMillis(config.getLong("inference.batch.max-wait-ms"));
+
+            result = imageStream
+                    .transform(() -> new BatchingImageClassificationTransformer(modelManager, PENDING_IMAGE_STORE, maxBatchSize, maxWait, metrics),
+                            PENDING_IMAGE_STORE);
+
+        } else if (inferenceMode == InferenceMode.ASYNC) {
+            int maxInFlight = config.getInt("inference.async.max-in-flight");
+
+            result = imageStream
+                    .transform(() -> new AsyncImageClassificationTransformer(workerPool, PENDING_IMAGE_STORE, maxInFlight, backpressure, metrics),
+                            PENDING_IMAGE_STORE);
+
+        } else {
+            result = imageStream
+                    .transformValues(() -> new ImageClassificationTransformer(modelManager, metrics));
+        }
+
+        if (inferenceCache != null) {
+            result = result
+                    .transformValues(() -> new InferenceCacheRecorder(inferenceCache, inferenceCacheStore), storeNames(inferenceCacheStore));
+        }
+        return result;
+    }
+
+    private static String[] storeNames(String storeName) {
+        return storeName != null ? new String[]{storeName} : new String[0];
     }
 
 }
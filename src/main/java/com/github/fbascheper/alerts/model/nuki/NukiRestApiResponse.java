@@ -1,26 +1,27 @@
 package com.github.fbascheper.alerts.model.nuki;
 
+import com.github.fbascheper.alerts.model.avro.SerializableSmartLock;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import lombok.ToString;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Holder of the result of a Nuki Web API call.
+ * <p>
+ * Only the fields of the smart-locks used by the alerting logic are retained.
+ * </p>
  *
  * @author Erik-Berndt Scheper
  * @since 07-11-2018
  */
 @Getter
-@NoArgsConstructor
 @ToString
 public final class NukiRestApiResponse {
 
-    private List<SmartLock> locks = new ArrayList<>();
+    private final List<SerializableSmartLock> locks;
 
-    public void parseDates() {
-        locks.forEach(SmartLock::parseDates);
+    public NukiRestApiResponse(List<SerializableSmartLock> locks) {
+        this.locks = locks;
     }
 }
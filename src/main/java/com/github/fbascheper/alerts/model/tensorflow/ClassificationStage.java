@@ -0,0 +1,21 @@
+package com.github.fbascheper.alerts.model.tensorflow;
+
+/**
+ * An enumeration of the stages of the cascade of TensorFlow models, which may decide the classification of an image.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public enum ClassificationStage {
+
+    /**
+     * The small, low-resolution screening model, which decides when it is certain about the classification.
+     */
+    SCREENING,
+
+    /**
+     * The full model, which classifies the images about which the screening model is uncertain, or all images
+     * when there is no screening model.
+     */
+    FULL
+}
@@ -3,6 +3,8 @@ package com.github.fbascheper.alerts.model.tensorflow;
 
 import com.github.fbascheper.alerts.model.avro.SerializableImage;
 
+import java.util.Locale;
+
 /**
  * An image combined with its classification from the TensorFlow model.
  *
@@ -14,11 +16,37 @@ public class ImageClassification {
     private final SerializableImage image;
     private final Classification classification;
     private final float probability;
+    private final String modelVersion;
+    private final ClassificationStage stage;
+
+    public ImageClassification(SerializableImage image, Classification classification, float probability, String modelVersion) {
+        this(image, classification, probability, modelVersion, ClassificationStage.FULL);
+    }
 
-    public ImageClassification(SerializableImage image, Classification classification, float probability) {
+    public ImageClassification(SerializableImage image, Classification classification, float probability, String modelVersion,
+                               ClassificationStage stage) {
         this.image = image;
         this.classification = classification;
         this.probability = probability;
+        this.modelVersion = modelVersion;
+        this.stage = stage;
+    }
+
+    /**
+     * Create an image which has not been classified (yet).
+     *
+     * @param image the image
+     * @return image without a classification
+     */
+    public static ImageClassification unclassified(SerializableImage image) {
+        return new ImageClassification(image, null, 0f, null, null);
+    }
+
+    /**
+     * @return {@code true} if the image has been classified
+     */
+    public boolean isClassified() {
+        return classification != null;
     }
 
     public SerializableImage getImage() {
@@ -33,10 +61,29 @@ public class ImageClassification {
         return probability;
     }
 
+    /**
+     * @return the version of the TensorFlow model which classified the image, or {@code null} if it was not classified;
+     * for an image decided by the screening model, this is the version of the screening model
+     */
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    /**
+     * @return the stage of the cascade of models which decided the classification, or {@code null} if it was not classified
+     */
+    public ClassificationStage getStage() {
+        return stage;
+    }
+
     @Override
     public String toString() {
-        return String.format("BEST MATCH: for image %s was %s (%.2f%% likely)",
-                this.image.getName(), this.classification.getDescription(), this.probability);
+        if (!isClassified()) {
+            return String.format("NO MATCH: image %s was not classified", this.image.getName());
+        }
+        return String.format("BEST MATCH: for image %s was %s (%.2f%% likely, model %s, %s stage)",
+                this.image.getName(), this.classification.getDescription(), this.probability, this.modelVersion,
+                this.stage.name().toLowerCase(Locale.ROOT));
 
     }
 }
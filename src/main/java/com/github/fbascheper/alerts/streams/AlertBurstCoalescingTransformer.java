@@ -0,0 +1,202 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.AlertBurst;
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.Classification;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.common.DateUtils;
+import com.github.fbascheper.alerts.util.image.PhotoRenderer;
+import com.github.fbascheper.alerts.util.kafka.ClaimCheckImageSerde;
+import com.github.fbascheper.alerts.util.mapper.telegram.TelegramMessageMapper;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyStage;
+import com.github.fbascheper.kafka.connect.telegram.TgMessage;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.Transformer;
+import org.apache.kafka.streams.processor.Cancellable;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Transformer that coalesces the classified images of a camera into bursts, and sends a single Telegram message
+ * for each burst with at least one burglar alert.
+ * <p>
+ * Bursts are formed by the (record) timestamps of the images, i.e. the time at which they were captured, so images
+ * which are processed late, such as a backlog which is caught up with, are coalesced as they were captured. An image
+ * of a camera starts a new burst when it was captured {@code gap} after the last image of the open burst of that
+ * camera, or {@code maxWait} after its first image. A wall-clock punctuator closes the bursts of cameras whose
+ * images have stopped arriving, when no image of the camera has been processed for {@code gap}.
+ * </p>
+ * <p>
+ * The message holds the burglar alert image with the highest probability, with a caption which summarizes the burst.
+ * </p>
+ * <p>
+ * The bursts are kept in a state store, and the best image of each burst in a separate state store, which is only
+ * written when the best image changes. Open bursts therefore survive a restart or a rebalance. When the data of the
+ * best image has been evicted from the image blob store in the meantime, the message is sent without the photo.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class AlertBurstCoalescingTransformer implements Transformer<String, ImageClassification, KeyValue<String, TgMessage>> {
+
+    private static final Logger LOGGER = getLogger(AlertBurstCoalescingTransformer.class);
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final String burstStoreName;
+    private final String imageStoreName;
+    private final Duration gap;
+    private final Duration maxWait;
+    private final PhotoRenderer photoRenderer;
+    private final TopologyMetrics metrics;
+
+    private ProcessorContext context;
+    private KeyValueStore<String, AlertBurst> burstStore;
+    private KeyValueStore<String, SerializableImage> imageStore;
+    private Cancellable punctuator;
+
+    /**
+     * Create a new transformer.
+     *
+     * @param burstStoreName name of the store holding the open burst of each camera
+     * @param imageStoreName name of the store holding the best image of the open burst of each camera
+     * @param gap            maximum time between two images of the same burst
+     * @param maxWait        maximum duration of a burst
+     * @param photoRenderer  renderer of the photos sent to Telegram
+     * @param metrics        the topology metrics
+     */
+    public AlertBurstCoalescingTransformer(String burstStoreName, String imageStoreName, Duration gap, Duration maxWait,
+                                           PhotoRenderer photoRenderer, TopologyMetrics metrics) {
+        this.burstStoreName = burstStoreName;
+        this.imageStoreName = imageStoreName;
+        this.gap = gap;
+        this.maxWait = maxWait;
+        this.photoRenderer = photoRenderer;
+        this.metrics = metrics;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init(ProcessorContext context) {
+        this.context = context;
+        this.burstStore = (KeyValueStore<String, AlertBurst>) context.getStateStore(burstStoreName);
+        this.imageStore = (KeyValueStore<String, SerializableImage>) context.getStateStore(imageStoreName);
+
+        // check for idle bursts a few times per gap, so no burst is sent much later than that
+        Duration interval = Duration.ofMillis(Math.max(100L, gap.toMillis() / 4));
+        this.punctuator = context.schedule(interval, PunctuationType.WALL_CLOCK_TIME, this::punctuate);
+    }
+
+    @Override
+    public KeyValue<String, TgMessage> transform(String filename, ImageClassification imageClassification) {
+        String cameraId = CameraKeys.cameraId(filename);
+        long timestamp = context.timestamp();
+
+        AlertBurst burst = burstStore.get(cameraId);
+        if (burst != null && isComplete(burst, timestamp)) {
+            closeBurst(cameraId, burst);
+            burst = null;
+        }
+        if (burst == null) {
+            burst = new AlertBurst(timestamp, timestamp, 0, 0, 0f, null, 0L);
+        }
+
+        // images may arrive slightly out of order
+        burst.setFirstFrameEpochMillis(Math.min(burst.getFirstFrameEpochMillis(), timestamp));
+        burst.setLastFrameEpochMillis(Math.max(burst.getLastFrameEpochMillis(), timestamp));
+        burst.setLastProcessedEpochMillis(System.currentTimeMillis());
+        burst.setFrameCount(burst.getFrameCount() + 1);
+
+        if (imageClassification.getClassification() == Classification.BURGLAR_ALERT) {
+            burst.setAlertCount(burst.getAlertCount() + 1);
+
+            if (burst.getAlertCount() == 1 || imageClassification.getProbability() > burst.getBestProbability()) {
+                burst.setBestProbability(imageClassification.getProbability());
+                burst.setBestModelVersion(imageClassification.getModelVersion());
+                imageStore.put(cameraId, imageClassification.getImage());
+            }
+        }
+
+        burstStore.put(cameraId, burst);
+        metrics.stage(TopologyStage.ALERT_COALESCING).recordDropped();
+        return null;
+    }
+
+    private void punctuate(long timestamp) {
+        List<KeyValue<String, AlertBurst>> idleBursts = new ArrayList<>();
+        try (KeyValueIterator<String, AlertBurst> iterator = burstStore.all()) {
+            while (iterator.hasNext()) {
+                KeyValue<String, AlertBurst> entry = iterator.next();
+                if (timestamp - entry.value.getLastProcessedEpochMillis() >= gap.toMillis()) {
+                    idleBursts.add(entry);
+                }
+            }
+        }
+
+        idleBursts.forEach(entry -> closeBurst(entry.key, entry.value));
+    }
+
+    /**
+     * @return {@code true} if an image with the given (record) timestamp doesn't belong to the burst anymore
+     */
+    private boolean isComplete(AlertBurst burst, long timestamp) {
+        return timestamp - burst.getLastFrameEpochMillis() >= gap.toMillis()
+                || timestamp - burst.getFirstFrameEpochMillis() >= maxWait.toMillis();
+    }
+
+    private void closeBurst(String cameraId, AlertBurst burst) {
+        burstStore.delete(cameraId);
+        if (burst.getAlertCount() == 0) {
+            LOGGER.debug("   --- Burst of {} images of camera {} without burglar alerts --> discard burst", burst.getFrameCount(), cameraId);
+            return;
+        }
+
+        SerializableImage image = imageStore.delete(cameraId);
+        if (image == null) {
+            LOGGER.warn("Best image of burst of camera {} not found --> discard burst", cameraId);
+            return;
+        }
+
+        long start = System.nanoTime();
+        TgMessage message;
+        if (ClaimCheckImageSerde.isEvicted(image)) {
+            LOGGER.warn("Best image {} of burst of camera {} has been evicted --> send burglar alert without photo", image.getName(), cameraId);
+            message = TelegramMessageMapper.textMessage(caption(cameraId, burst, image));
+        } else {
+            message = TelegramMessageMapper.photoMessage(image, caption(cameraId, burst, image), photoRenderer);
+        }
+
+        metrics.stage(TopologyStage.TELEGRAM_MAPPING).recordLatency(start);
+        metrics.stage(TopologyStage.TELEGRAM_MAPPING).recordPassed();
+        metrics.stage(TopologyStage.ALERT_COALESCING).recordPassed();
+        context.forward(image.getName(), message);
+    }
+
+    static String caption(String cameraId, AlertBurst burst, SerializableImage image) {
+        return String.format("BURGLAR ALERT: camera %s, %d of %d images between %s and %s; best match %s (%.2f%% likely, model %s)",
+                cameraId, burst.getAlertCount(), burst.getFrameCount(),
+                TIME_FORMATTER.format(DateUtils.ofEpochSecond(burst.getFirstFrameEpochMillis() / 1000L, DateUtils.ZONE_ID_EUROPE_AMSTERDAM)),
+                TIME_FORMATTER.format(DateUtils.ofEpochSecond(burst.getLastFrameEpochMillis() / 1000L, DateUtils.ZONE_ID_EUROPE_AMSTERDAM)),
+                image.getName(), burst.getBestProbability(), burst.getBestModelVersion());
+    }
+
+    @Override
+    public void close() {
+        // open bursts are kept in the stores, which are closed by Kafka Streams
+        if (punctuator != null) {
+            punctuator.cancel();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.state.BurglarAlertState;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+
+import java.util.Collection;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Condition which holds while the burglar alerting system is disabled for all given accounts, according to the
+ * store holding the state of the alerting system of each account.
+ * <p>
+ * The state of an account which is not available in the local instance of the store is assumed to be enabled,
+ * as is the state of all accounts while the store can't be queried, e.g. because {@code KafkaStreams} hasn't
+ * started yet.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class AlertingDisabledCondition implements BooleanSupplier {
+
+    private final String storeName;
+    private final Collection<String> accountIds;
+
+    private volatile KafkaStreams streams;
+    private volatile ReadOnlyKeyValueStore<String, Integer> store;
+
+    /**
+     * Create a new condition.
+     *
+     * @param storeName  name of the store holding the state of the alerting system, keyed by accountId
+     * @param accountIds ids of the accounts
+     */
+    public AlertingDisabledCondition(String storeName, Collection<String> accountIds) {
+        this.storeName = storeName;
+        this.accountIds = accountIds;
+    }
+
+    /**
+     * @param streams the Kafka Streams application which holds the store
+     */
+    public void setStreams(KafkaStreams streams) {
+        this.streams = streams;
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        try {
+            ReadOnlyKeyValueStore<String, Integer> currentStore = store;
+            if (currentStore == null) {
+                if (streams == null) {
+                    return false;
+                }
+                currentStore = streams.store(storeName, QueryableStoreTypes.keyValueStore());
+                store = currentStore;
+            }
+
+            for (String accountId : accountIds) {
+                if (!BurglarAlertState.SEND_MESSAGES_DISABLED.getValue().equals(currentStore.get(accountId))) {
+                    return false;
+                }
+            }
+            return true;
+
+        } catch (InvalidStateStoreException ex) {
+            return false;
+        }
+    }
+}
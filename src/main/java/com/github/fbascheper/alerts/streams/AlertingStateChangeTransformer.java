@@ -0,0 +1,77 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.EmittedAlertingState;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.Transformer;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Transformer that only forwards the state of the alerting system of an account when it differs from the
+ * last state forwarded for that account, or when the last state was forwarded at least {@code heartbeat} ago.
+ * <p>
+ * The last forwarded state of each account is kept in a state store, which is only written when a state is forwarded.
+ * Because that store is local to a stream task, all poll results of an account must be processed by the same task,
+ * which holds as long as the topic with the results of the Nuki Web API has a single partition.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class AlertingStateChangeTransformer implements Transformer<String, Integer, KeyValue<String, Integer>> {
+
+    private static final Logger LOGGER = getLogger(AlertingStateChangeTransformer.class);
+
+    private final String storeName;
+    private final Duration heartbeat;
+
+    private ProcessorContext context;
+    private KeyValueStore<String, EmittedAlertingState> store;
+
+    /**
+     * Create a new transformer.
+     *
+     * @param storeName name of the store holding the last forwarded state of each account
+     * @param heartbeat interval after which an unchanged state is forwarded again, or {@link Duration#ZERO} to
+     *                  only forward changes
+     */
+    public AlertingStateChangeTransformer(String storeName, Duration heartbeat) {
+        this.storeName = storeName;
+        this.heartbeat = heartbeat;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init(ProcessorContext context) {
+        this.context = context;
+        this.store = (KeyValueStore<String, EmittedAlertingState>) context.getStateStore(storeName);
+    }
+
+    @Override
+    public KeyValue<String, Integer> transform(String accountId, Integer state) {
+        EmittedAlertingState last = store.get(accountId);
+        long timestamp = context.timestamp();
+
+        if (last != null && Objects.equals(last.getState(), state)) {
+            if (heartbeat.isZero() || timestamp - last.getEmittedEpochMillis() < heartbeat.toMillis()) {
+                return null;
+            }
+        } else {
+            LOGGER.info("State of the alerting system of account {} changed to {}", accountId, state);
+        }
+
+        store.put(accountId, new EmittedAlertingState(state, timestamp));
+        return KeyValue.pair(accountId, state);
+    }
+
+    @Override
+    public void close() {
+        // the store is closed by Kafka Streams
+    }
+}
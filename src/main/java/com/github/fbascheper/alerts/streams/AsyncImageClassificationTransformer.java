@@ -0,0 +1,153 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowWorkerPool;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.errors.StreamsException;
+import org.apache.kafka.streams.kstream.Transformer;
+import org.apache.kafka.streams.processor.Cancellable;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Transformer that offloads the classification of images to a {@link TensorFlowWorkerPool}, so a slow
+ * image does not block the stream thread.
+ * <p>
+ * The pending classifications are kept in arrival order, and a classification is only forwarded when all
+ * classifications before it have been forwarded, so results leave this transformer in the order of the input records.
+ * Completed classifications are forwarded on each new image and by a wall-clock punctuator; the stream thread never
+ * waits for a classification.
+ * </p>
+ * <p>
+ * The images are kept in a {@link PendingImages} store until their classification has been forwarded, so a commit
+ * never loses an image whose classification is still pending: after a crash or rebalance, the next owner of the task
+ * classifies them again (unless the store isn't logged, and the task has moved to another instance).
+ * </p>
+ * <p>
+ * When {@code maxInFlight} classifications are pending, the {@link InferenceBackpressure} condition holds until the
+ * workers have caught up, which is used to pause fetching the images of this transformer. The records which Kafka
+ * Streams has already buffered for the task are still transformed, so the number of pending classifications can
+ * exceed {@code maxInFlight} by at most the number of buffered records.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class AsyncImageClassificationTransformer implements Transformer<String, SerializableImage, KeyValue<String, ImageClassification>> {
+
+    private static final Duration FORWARD_INTERVAL = Duration.ofMillis(20);
+
+    private final TensorFlowWorkerPool workerPool;
+    private final String pendingStoreName;
+    private final int maxInFlight;
+    private final InferenceBackpressure backpressure;
+    private final TopologyMetrics metrics;
+
+    // the pending classifications, keyed by the pending key of their image
+    private final Deque<KeyValue<String, Future<ImageClassification>>> pending = new ArrayDeque<>();
+
+    private ProcessorContext context;
+    private PendingImages pendingImages;
+    private Cancellable punctuator;
+    private boolean saturated;
+
+    public AsyncImageClassificationTransformer(TensorFlowWorkerPool workerPool,
+                                               String pendingStoreName,
+                                               int maxInFlight,
+                                               InferenceBackpressure backpressure,
+                                               TopologyMetrics metrics) {
+        this.workerPool = workerPool;
+        this.pendingStoreName = pendingStoreName;
+        this.maxInFlight = maxInFlight;
+        this.backpressure = backpressure;
+        this.metrics = metrics;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init(ProcessorContext context) {
+        this.context = context;
+        this.pendingImages = new PendingImages((KeyValueStore<String, SerializableImage>) context.getStateStore(pendingStoreName));
+
+        pendingImages.restore().forEach(image -> submit(image.key, image.value));
+        updateBackpressure();
+
+        this.punctuator = context.schedule(FORWARD_INTERVAL, PunctuationType.WALL_CLOCK_TIME, timestamp -> {
+            forwardCompleted();
+            updateBackpressure();
+        });
+    }
+
+    @Override
+    public KeyValue<String, ImageClassification> transform(String key, SerializableImage image) {
+        submit(pendingImages.add(key, image), image);
+
+        forwardCompleted();
+        updateBackpressure();
+        return null;
+    }
+
+    private void submit(String pendingKey, SerializableImage image) {
+        pending.addLast(KeyValue.pair(pendingKey, workerPool.submit(image)));
+        metrics.inferenceQueueDepth().incrementAndGet();
+    }
+
+    private void forwardCompleted() {
+        while (!pending.isEmpty() && pending.peekFirst().value.isDone()) {
+            forwardOldest();
+        }
+    }
+
+    private void forwardOldest() {
+        KeyValue<String, Future<ImageClassification>> oldest = pending.pollFirst();
+        metrics.inferenceQueueDepth().decrementAndGet();
+
+        String key = PendingImages.recordKey(oldest.key);
+        try {
+            context.forward(key, oldest.value.get());
+            pendingImages.remove(oldest.key);
+
+        } catch (ExecutionException ex) {
+            throw new StreamsException("Could not classify image " + key, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new StreamsException("Interrupted while classifying image " + key, ex);
+        }
+    }
+
+    private void updateBackpressure() {
+        boolean full = pending.size() >= maxInFlight;
+        if (full && !saturated) {
+            backpressure.saturated();
+        } else if (!full && saturated) {
+            backpressure.relieved();
+        }
+        saturated = full;
+    }
+
+    @Override
+    public void close() {
+        if (punctuator != null) {
+            punctuator.cancel();
+        }
+        if (saturated) {
+            backpressure.relieved();
+            saturated = false;
+        }
+
+        // the images whose classification is still pending stay in the store, for the next owner of the task
+        forwardCompleted();
+        pending.forEach(classification -> classification.value.cancel(false));
+        metrics.inferenceQueueDepth().addAndGet(-pending.size());
+        pending.clear();
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyStage;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowEngineHolder;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowMatcher;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowModelManager;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.Transformer;
+import org.apache.kafka.streams.processor.Cancellable;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Transformer that buffers images and classifies them in micro-batches, using a single run of the
+ * TensorFlow model for each batch.
+ * <p>
+ * A batch is classified as soon as it holds {@code maxBatchSize} images, or when the oldest image in the
+ * buffer has waited for {@code maxWait}, which is checked by a wall-clock punctuator. Each classification
+ * is forwarded with the key of its original record.
+ * </p>
+ * <p>
+ * The engines are shared by all stream tasks of a stream thread, see {@link ImageClassificationTransformer}.
+ * </p>
+ * <p>
+ * The buffered images are kept in a {@link PendingImages} store until their classification has been forwarded, so a
+ * commit never loses a buffered image: after a crash or rebalance, the next owner of the task buffers them again
+ * (unless the store isn't logged, and the task has moved to another instance).
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class BatchingImageClassificationTransformer implements Transformer<String, SerializableImage, KeyValue<String, ImageClassification>> {
+
+    private static final Logger LOGGER = getLogger(BatchingImageClassificationTransformer.class);
+
+    private final TensorFlowModelManager modelManager;
+    private final String pendingStoreName;
+    private final int maxBatchSize;
+    private final Duration maxWait;
+    private final TopologyMetrics metrics;
+
+    // the buffered images, keyed by their pending key
+    private final List<KeyValue<String, SerializableImage>> buffer = new ArrayList<>();
+    private long oldestBufferedMs;
+
+    private ProcessorContext context;
+    private PendingImages pendingImages;
+    private TensorFlowEngineHolder engineHolder;
+    private Cancellable punctuator;
+
+    public BatchingImageClassificationTransformer(TensorFlowModelManager modelManager,
+                                                  String pendingStoreName,
+                                                  int maxBatchSize,
+                                                  Duration maxWait,
+                                                  TopologyMetrics metrics) {
+        this.modelManager = modelManager;
+        this.pendingStoreName = pendingStoreName;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWait = maxWait;
+        this.metrics = metrics;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init(ProcessorContext context) {
+        this.context = context;
+        this.pendingImages = new PendingImages((KeyValueStore<String, SerializableImage>) context.getStateStore(pendingStoreName));
+        this.engineHolder = modelManager.threadEngineHolder(
+                metrics.stage(TopologyStage.IMAGE_NORMALIZATION), metrics.stage(TopologyStage.SCREENING));
+
+        // load and warm up the engines before the first image of this thread arrives
+        this.engineHolder.engine();
+        this.engineHolder.screeningEngine();
+
+        // buffer the images left behind by the previous owner of this task first
+        pendingImages.restore().forEach(image -> buffer(image.key, image.value));
+        while (buffer.size() >= maxBatchSize) {
+            classifyBatch(maxBatchSize);
+        }
+
+        // check the age of the buffer a few times per max. wait, so no image waits much longer than that
+        Duration interval = Duration.ofMillis(Math.max(10L, maxWait.toMillis() / 4));
+        this.punctuator = context.schedule(interval, PunctuationType.WALL_CLOCK_TIME, this::punctuate);
+    }
+
+    @Override
+    public KeyValue<String, ImageClassification> transform(String key, SerializableImage image) {
+        buffer(pendingImages.add(key, image), image);
+
+        if (buffer.size() >= maxBatchSize) {
+            classifyBatch(buffer.size());
+        }
+        return null;
+    }
+
+    private void buffer(String pendingKey, SerializableImage image) {
+        if (buffer.isEmpty()) {
+            oldestBufferedMs = System.currentTimeMillis();
+        }
+        buffer.add(KeyValue.pair(pendingKey, image));
+        metrics.inferenceQueueDepth().incrementAndGet();
+    }
+
+    private void punctuate(long timestamp) {
+        if (!buffer.isEmpty() && System.currentTimeMillis() - oldestBufferedMs >= maxWait.toMillis()) {
+            classifyBatch(buffer.size());
+        }
+    }
+
+    private void classifyBatch(int size) {
+        List<KeyValue<String, SerializableImage>> batch = buffer.subList(0, size);
+        List<SerializableImage> images = batch.stream().map(kv -> kv.value).collect(Collectors.toList());
+
+        long start = System.nanoTime();
+        List<ImageClassification> classifications = TensorFlowMatcher.matchImages(engineHolder, images);
+        LOGGER.debug("Classified batch of {} images in {} ms", images.size(), (System.nanoTime() - start) / 1_000_000L);
+
+        metrics.stage(TopologyStage.INFERENCE).recordLatency(start);
+        metrics.stage(TopologyStage.INFERENCE).recordPassed(images.size());
+        metrics.inferenceQueueDepth().addAndGet(-images.size());
+
+        for (int i = 0; i < classifications.size(); i++) {
+            context.forward(PendingImages.recordKey(batch.get(i).key), classifications.get(i));
+            pendingImages.remove(batch.get(i).key);
+        }
+        batch.clear();
+        oldestBufferedMs = System.currentTimeMillis();
+    }
+
+    @Override
+    public void close() {
+        if (punctuator != null) {
+            punctuator.cancel();
+        }
+        if (engineHolder != null) {
+            // Kafka Streams closes the topology before committing, so classify the buffered images right away
+            if (!buffer.isEmpty()) {
+                classifyBatch(buffer.size());
+            }
+            // the engine holder is shared by the other tasks of this thread, and closed by the model manager
+            engineHolder = null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.util.mapper.nuki.SmartLockMapper;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mapping of cameras to the Nuki accounts whose smart-locks determine the state of their alerting system.
+ * <p>
+ * When neither a camera nor a default account is configured, all cameras share the
+ * {@link SmartLockMapper#ALERT_STATE combined state} of all accounts, which is disabled when any lock is unlocked.
+ * </p>
+ * <p>
+ * Each camera is mapped to a single account. The camera images are partitioned by their account, so all images of a
+ * camera are processed by the same stream task, which the state kept per camera relies on.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class CameraAccounts {
+
+    private final Map<String, String> cameraAccounts;
+    private final String defaultAccountId;
+    private final boolean combined;
+
+    /**
+     * Create a new mapping.
+     *
+     * @param cameraAccounts   the accountId of each camera, by camera id
+     * @param defaultAccountId the accountId of all other cameras, which may be empty if all cameras are mapped
+     */
+    public CameraAccounts(Map<String, String> cameraAccounts, String defaultAccountId) {
+        this.combined = cameraAccounts.isEmpty() && defaultAccountId.isEmpty();
+        this.cameraAccounts = cameraAccounts;
+        this.defaultAccountId = combined ? SmartLockMapper.ALERT_STATE : defaultAccountId;
+    }
+
+    /**
+     * @return {@code true} if all cameras share the combined state of all accounts
+     */
+    public boolean isCombined() {
+        return combined;
+    }
+
+    /**
+     * @param filename the name of an image file
+     * @return the accountId of the camera which uploaded the image, or {@code null} if the camera is not mapped
+     */
+    public String accountId(String filename) {
+        String accountId = cameraAccounts.get(CameraKeys.cameraId(filename));
+        if (accountId != null) {
+            return accountId;
+        }
+        return defaultAccountId.isEmpty() ? null : defaultAccountId;
+    }
+
+    /**
+     * @return the ids of all accounts
+     */
+    public Set<String> accountIds() {
+        Set<String> result = new LinkedHashSet<>(cameraAccounts.values());
+        if (!defaultAccountId.isEmpty()) {
+            result.add(defaultAccountId);
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+}
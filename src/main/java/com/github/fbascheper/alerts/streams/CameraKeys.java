@@ -0,0 +1,36 @@
+package com.github.fbascheper.alerts.streams;
+
+/**
+ * Utilities for the keys of camera images, which are the names of the uploaded files.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class CameraKeys {
+
+    /**
+     * Id of the camera for files which are not uploaded into a directory.
+     */
+    public static final String DEFAULT_CAMERA_ID = "default";
+
+    private CameraKeys() {
+        // prevent instantiation
+    }
+
+    /**
+     * Determine the id of the camera which uploaded an image, i.e. the name of the directory it was uploaded to.
+     *
+     * @param filename the name of the image file, e.g. {@code /home/virtual/photo/photo/garden/MDAlarm_20181105-101010.jpg}
+     * @return the camera id, e.g. {@code garden}, or {@value #DEFAULT_CAMERA_ID} if the file has no parent directory
+     */
+    public static String cameraId(String filename) {
+        int end = filename.lastIndexOf('/');
+        if (end <= 0) {
+            return DEFAULT_CAMERA_ID;
+        }
+
+        int start = filename.lastIndexOf('/', end - 1) + 1;
+        return filename.substring(start, end);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.FrameFingerprint;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+/**
+ * Value transformer that records the {@link FrameFingerprint} of each classified image as the last classified
+ * image of its camera, for use by the {@link ImageDeduplicationTransformer}.
+ * <p>
+ * Classifications are passed through unchanged.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class FrameFingerprintRecorder implements ValueTransformerWithKey<String, ImageClassification, ImageClassification> {
+
+    private final String storeName;
+
+    private KeyValueStore<String, FrameFingerprint> store;
+
+    public FrameFingerprintRecorder(String storeName) {
+        this.storeName = storeName;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init(ProcessorContext context) {
+        this.store = (KeyValueStore<String, FrameFingerprint>) context.getStateStore(storeName);
+    }
+
+    @Override
+    public ImageClassification transform(String readOnlyKey, ImageClassification imageClassification) {
+        Long perceptualHash = imageClassification.getImage().getPerceptualHash();
+
+        if (perceptualHash != null && imageClassification.isClassified()) {
+            store.put(CameraKeys.cameraId(readOnlyKey), new FrameFingerprint(perceptualHash,
+                    imageClassification.getClassification().name(), imageClassification.getProbability(),
+                    imageClassification.getModelVersion(), imageClassification.getStage().name()));
+        }
+        return imageClassification;
+    }
+
+    @Override
+    public void close() {
+        // the store is closed by Kafka Streams
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyStage;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowEngineHolder;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowInferenceEngine;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowMatcher;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowModelManager;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.processor.ProcessorContext;
+
+/**
+ * Value transformer that classifies images using a {@link TensorFlowInferenceEngine}, screening them first
+ * when there is a screening model.
+ * <p>
+ * Kafka Streams creates a transformer for each stream task, but all tasks of a stream thread share the
+ * {@link TensorFlowModelManager#threadEngineHolder(StageMetrics, StageMetrics) engine holder of that thread}, so the
+ * model is loaded once per stream thread (and once for each new version of the model), and kept when tasks are
+ * reassigned on a rebalance. The engines are released when {@code KafkaStreams} is shut down.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class ImageClassificationTransformer implements ValueTransformerWithKey<String, SerializableImage, ImageClassification> {
+
+    private final TensorFlowModelManager modelManager;
+    private final TopologyMetrics metrics;
+
+    private TensorFlowEngineHolder engineHolder;
+
+    public ImageClassificationTransformer(TensorFlowModelManager modelManager, TopologyMetrics metrics) {
+        this.modelManager = modelManager;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void init(ProcessorContext context) {
+        this.engineHolder = modelManager.threadEngineHolder(
+                metrics.stage(TopologyStage.IMAGE_NORMALIZATION), metrics.stage(TopologyStage.SCREENING));
+
+        // load and warm up the engines before the first image of this thread arrives
+        this.engineHolder.engine();
+        this.engineHolder.screeningEngine();
+    }
+
+    @Override
+    public ImageClassification transform(String readOnlyKey, SerializableImage image) {
+        long start = System.nanoTime();
+        ImageClassification result = TensorFlowMatcher.matchImage(engineHolder, image);
+
+        metrics.stage(TopologyStage.INFERENCE).recordLatency(start);
+        metrics.stage(TopologyStage.INFERENCE).recordPassed();
+        return result;
+    }
+
+    @Override
+    public void close() {
+        // the engine holder is shared by the other tasks of this thread, and closed by the model manager
+        engineHolder = null;
+    }
+}
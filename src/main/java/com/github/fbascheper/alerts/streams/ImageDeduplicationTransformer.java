@@ -0,0 +1,99 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.FrameFingerprint;
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.Classification;
+import com.github.fbascheper.alerts.model.tensorflow.ClassificationStage;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.image.PerceptualHash;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyStage;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowModelManager;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.slf4j.Logger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Value transformer that skips the classification of images which are nearly identical to the
+ * last classified image of the same camera.
+ * <p>
+ * The perceptual hash of each image is compared with the {@link FrameFingerprint} of the last classified image
+ * of its camera, which is kept in a state store and updated by the {@link FrameFingerprintRecorder}.
+ * When the Hamming distance of both hashes is at most {@code maxHashDistance}, the classification of that image
+ * is reused; otherwise the image is returned {@link ImageClassification#unclassified(SerializableImage) unclassified},
+ * to be classified by the TensorFlow model.
+ * </p>
+ * <p>
+ * Because images are always compared with the last <em>classified</em> image, a slowly changing scene
+ * is classified again once it has drifted far enough. A classification by a model which is no longer
+ * in use, such as an older version of the model, is never reused.
+ * </p>
+ * <p>
+ * The fingerprints are kept per camera, so all images of a camera must be transformed by the same stream task. The images
+ * need not be repartitioned by camera for that: they are partitioned by the account of their camera, see
+ * {@link CameraAccounts}.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class ImageDeduplicationTransformer implements ValueTransformerWithKey<String, SerializableImage, ImageClassification> {
+
+    private static final Logger LOGGER = getLogger(ImageDeduplicationTransformer.class);
+
+    private final String storeName;
+    private final int maxHashDistance;
+    private final TensorFlowModelManager modelManager;
+    private final StageMetrics metrics;
+
+    private KeyValueStore<String, FrameFingerprint> store;
+
+    public ImageDeduplicationTransformer(String storeName, int maxHashDistance, TensorFlowModelManager modelManager, TopologyMetrics metrics) {
+        this.storeName = storeName;
+        this.maxHashDistance = maxHashDistance;
+        this.modelManager = modelManager;
+        this.metrics = metrics.stage(TopologyStage.DEDUPLICATION);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init(ProcessorContext context) {
+        this.store = (KeyValueStore<String, FrameFingerprint>) context.getStateStore(storeName);
+    }
+
+    @Override
+    public ImageClassification transform(String readOnlyKey, SerializableImage image) {
+        long start = System.nanoTime();
+
+        try {
+            image.setPerceptualHash(PerceptualHash.differenceHash(image.getImageData()));
+        } catch (IllegalArgumentException ex) {
+            LOGGER.warn("Could not compute perceptual hash of image {}", readOnlyKey, ex);
+            metrics.recordPassed();
+            return ImageClassification.unclassified(image);
+        }
+
+        FrameFingerprint last = store.get(CameraKeys.cameraId(readOnlyKey));
+        metrics.recordLatency(start);
+
+        if (last != null && modelManager.isCurrent(last.getModelVersion(), ClassificationStage.valueOf(last.getStage()))
+                && PerceptualHash.hammingDistance(last.getPerceptualHash(), image.getPerceptualHash()) <= maxHashDistance) {
+            LOGGER.debug("   --- Image {} is nearly identical to the last classified image --> skip TensorFlow", readOnlyKey);
+            metrics.recordDropped();
+            return new ImageClassification(image, Classification.valueOf(last.getClassification()), last.getProbability(), last.getModelVersion(),
+                    ClassificationStage.valueOf(last.getStage()));
+        }
+
+        metrics.recordPassed();
+        return ImageClassification.unclassified(image);
+    }
+
+    @Override
+    public void close() {
+        // the store is closed by Kafka Streams
+    }
+}
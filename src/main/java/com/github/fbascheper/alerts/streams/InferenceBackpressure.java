@@ -0,0 +1,30 @@
+package com.github.fbascheper.alerts.streams;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Condition which holds while any {@link AsyncImageClassificationTransformer} of this instance has reached its maximum
+ * number of images in flight, which is used to pause fetching the images which are classified asynchronously until the
+ * worker threads have caught up.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class InferenceBackpressure implements BooleanSupplier {
+
+    private final AtomicInteger saturatedTasks = new AtomicInteger();
+
+    void saturated() {
+        saturatedTasks.incrementAndGet();
+    }
+
+    void relieved() {
+        saturatedTasks.decrementAndGet();
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        return saturatedTasks.get() > 0;
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.CachedClassification;
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.Classification;
+import com.github.fbascheper.alerts.model.tensorflow.ClassificationStage;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.image.ContentHash;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyStage;
+import com.github.fbascheper.alerts.util.tensorflow.InferenceCache;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowModelManager;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.state.WindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.slf4j.Logger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Value transformer that skips the classification of images which have been classified before, such as
+ * images uploaded again by a camera, or images processed again after a rebalance or a reset of the application.
+ * <p>
+ * Images are identified by the SHA-256 hash of their contents, which is looked up in the {@link InferenceCache}
+ * and, when it isn't found there, in an optional (persistent) window store, whose retention period bounds the time
+ * for which classifications are kept. Both are filled by the {@link InferenceCacheRecorder}.
+ * When the image was classified by a model which is still in use, that classification is reused; otherwise
+ * the image is returned {@link ImageClassification#unclassified(SerializableImage) unclassified}, to be classified
+ * by the TensorFlow model. The hash is kept as the content hash of the image, so the recorder doesn't compute it again.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class InferenceCacheLookupTransformer implements ValueTransformerWithKey<String, SerializableImage, ImageClassification> {
+
+    private static final Logger LOGGER = getLogger(InferenceCacheLookupTransformer.class);
+
+    private final InferenceCache cache;
+    private final String storeName;
+    private final TensorFlowModelManager modelManager;
+    private final StageMetrics metrics;
+
+    private WindowStore<String, CachedClassification> store;
+
+    /**
+     * Create a new transformer.
+     *
+     * @param cache        the in-memory cache
+     * @param storeName    name of the window store holding the classifications, or {@code null} if there is none
+     * @param modelManager the manager of the TensorFlow model
+     * @param metrics      metrics of the burglar alerts topology
+     */
+    public InferenceCacheLookupTransformer(InferenceCache cache, String storeName, TensorFlowModelManager modelManager, TopologyMetrics metrics) {
+        this.cache = cache;
+        this.storeName = storeName;
+        this.modelManager = modelManager;
+        this.metrics = metrics.stage(TopologyStage.INFERENCE_CACHE);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init(ProcessorContext context) {
+        if (storeName != null) {
+            this.store = (WindowStore<String, CachedClassification>) context.getStateStore(storeName);
+        }
+    }
+
+    @Override
+    public ImageClassification transform(String readOnlyKey, SerializableImage image) {
+        long start = System.nanoTime();
+
+        String contentHash = ContentHash.sha256(image.getImageData());
+        image.setContentHash(contentHash);
+
+        CachedClassification cached = cache.get(contentHash, this::isCurrent);
+        if (cached == null && store != null) {
+            cached = latest(contentHash);
+            if (cached != null && isCurrent(cached)) {
+                cache.put(contentHash, cached);
+            } else {
+                cached = null;
+            }
+        }
+        metrics.recordLatency(start);
+
+        if (cached != null) {
+            LOGGER.debug("   --- Image {} has been classified before --> skip TensorFlow", readOnlyKey);
+            metrics.recordDropped();
+            return new ImageClassification(image, Classification.valueOf(cached.getClassification()), cached.getProbability(), cached.getModelVersion(),
+                    ClassificationStage.valueOf(cached.getStage()));
+        }
+
+        metrics.recordPassed();
+        return ImageClassification.unclassified(image);
+    }
+
+    private boolean isCurrent(CachedClassification cached) {
+        return modelManager.isCurrent(cached.getModelVersion(), ClassificationStage.valueOf(cached.getStage()));
+    }
+
+    private CachedClassification latest(String contentHash) {
+        CachedClassification result = null;
+        try (WindowStoreIterator<CachedClassification> iterator = store.fetch(contentHash, 0L, Long.MAX_VALUE)) {
+            while (iterator.hasNext()) {
+                KeyValue<Long, CachedClassification> next = iterator.next();
+                result = next.value;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        // the store is closed by Kafka Streams
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.CachedClassification;
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.image.ContentHash;
+import com.github.fbascheper.alerts.util.tensorflow.InferenceCache;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.state.WindowStore;
+
+/**
+ * Value transformer that records the classification of each image classified by the TensorFlow model,
+ * for use by the {@link InferenceCacheLookupTransformer}.
+ * <p>
+ * Classifications are passed through unchanged. Each classification is recorded by the content hash which the
+ * {@link InferenceCacheLookupTransformer} kept on its image.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class InferenceCacheRecorder implements ValueTransformerWithKey<String, ImageClassification, ImageClassification> {
+
+    private final InferenceCache cache;
+    private final String storeName;
+
+    private ProcessorContext context;
+    private WindowStore<String, CachedClassification> store;
+
+    /**
+     * Create a new transformer.
+     *
+     * @param cache     the in-memory cache
+     * @param storeName name of the window store holding the classifications, or {@code null} if there is none
+     */
+    public InferenceCacheRecorder(InferenceCache cache, String storeName) {
+        this.cache = cache;
+        this.storeName = storeName;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init(ProcessorContext context) {
+        this.context = context;
+        if (storeName != null) {
+            this.store = (WindowStore<String, CachedClassification>) context.getStateStore(storeName);
+        }
+    }
+
+    @Override
+    public ImageClassification transform(String readOnlyKey, ImageClassification imageClassification) {
+        if (imageClassification.isClassified()) {
+            String contentHash = contentHash(imageClassification.getImage());
+            CachedClassification cached = new CachedClassification(imageClassification.getClassification().name(),
+                    imageClassification.getProbability(), imageClassification.getModelVersion(), imageClassification.getStage().name());
+
+            cache.put(contentHash, cached);
+            if (store != null) {
+                store.put(contentHash, cached, context.timestamp());
+            }
+        }
+        return imageClassification;
+    }
+
+    /**
+     * @return the content hash computed by the {@link InferenceCacheLookupTransformer}, or the SHA-256 hash of the image
+     * data if it has none, e.g. an image pending since before the content hash was kept
+     */
+    private static String contentHash(SerializableImage image) {
+        return image.getContentHash() != null ? image.getContentHash() : ContentHash.sha256(image.getImageData());
+    }
+
+    @Override
+    public void close() {
+        // the store is closed by Kafka Streams
+    }
+}
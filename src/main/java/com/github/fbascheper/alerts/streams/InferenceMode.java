@@ -0,0 +1,26 @@
+package com.github.fbascheper.alerts.streams;
+
+/**
+ * The way images are classified by the TensorFlow model.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public enum InferenceMode {
+
+    /**
+     * Each image is classified on its own, as soon as it arrives.
+     */
+    INLINE,
+
+    /**
+     * Images are buffered and classified in micro-batches, using a single TensorFlow run per batch.
+     */
+    BATCH,
+
+    /**
+     * Images are classified by a pool of worker threads, off the Kafka Streams threads.
+     */
+    ASYNC
+
+}
@@ -0,0 +1,132 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.util.image.ImageUtils;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyStage;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.slf4j.Logger;
+
+import java.util.Map;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Value transformer that detects motion by comparing each camera image with the previous image of the same camera.
+ * <p>
+ * Both images are compared using small grayscale thumbnails; the thumbnail of the previous image of each camera
+ * is kept in a state store. A pixel has changed when its luminance differs more than {@code pixelThreshold},
+ * and an image shows motion when the fraction of changed pixels is at least the motion threshold of its camera.
+ * Images without motion are transformed into {@code null}, and should be filtered out.
+ * </p>
+ * <p>
+ * The first image of a camera, and images which can't be decoded, are always passed on.
+ * </p>
+ * <p>
+ * The thumbnails are kept per camera, so all images of a camera must be transformed by the same stream task. The images
+ * need not be repartitioned by camera for that: they are partitioned by the account of their camera, see
+ * {@link CameraAccounts}.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class MotionDetectionTransformer implements ValueTransformerWithKey<String, SerializableImage, SerializableImage> {
+
+    private static final Logger LOGGER = getLogger(MotionDetectionTransformer.class);
+
+    static final int THUMBNAIL_WIDTH = 32;
+    static final int THUMBNAIL_HEIGHT = 24;
+
+    private final String storeName;
+    private final int pixelThreshold;
+    private final double defaultMotionThreshold;
+    private final Map<String, Double> cameraMotionThresholds;
+    private final StageMetrics metrics;
+
+    private KeyValueStore<String, byte[]> store;
+
+    /**
+     * Create a new motion detector.
+     *
+     * @param storeName              name of the store holding the previous thumbnail of each camera
+     * @param pixelThreshold         minimum difference in luminance (0 .. 255) of a changed pixel
+     * @param defaultMotionThreshold minimum fraction (0 .. 1) of changed pixels of an image with motion
+     * @param cameraMotionThresholds motion thresholds of individual cameras, which override the default
+     * @param metrics                the topology metrics
+     */
+    public MotionDetectionTransformer(String storeName, int pixelThreshold, double defaultMotionThreshold,
+                                      Map<String, Double> cameraMotionThresholds, TopologyMetrics metrics) {
+        this.storeName = storeName;
+        this.pixelThreshold = pixelThreshold;
+        this.defaultMotionThreshold = defaultMotionThreshold;
+        this.cameraMotionThresholds = cameraMotionThresholds;
+        this.metrics = metrics.stage(TopologyStage.MOTION_DETECTION);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init(ProcessorContext context) {
+        this.store = (KeyValueStore<String, byte[]>) context.getStateStore(storeName);
+    }
+
+    @Override
+    public SerializableImage transform(String readOnlyKey, SerializableImage image) {
+        long start = System.nanoTime();
+        String cameraId = CameraKeys.cameraId(readOnlyKey);
+
+        byte[] thumbnail;
+        try {
+            int[] luminance = ImageUtils.grayscaleThumbnail(image.getImageData(), THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT);
+            thumbnail = new byte[luminance.length];
+            for (int i = 0; i < luminance.length; i++) {
+                thumbnail[i] = (byte) luminance[i];
+            }
+        } catch (IllegalArgumentException ex) {
+            LOGGER.warn("Could not create thumbnail of image {}", readOnlyKey, ex);
+            metrics.recordPassed();
+            return image;
+        }
+
+        byte[] previous = store.get(cameraId);
+        store.put(cameraId, thumbnail);
+
+        double motion = previous == null ? 1d : changedPixels(previous, thumbnail);
+        double motionThreshold = cameraMotionThresholds.getOrDefault(cameraId, defaultMotionThreshold);
+        metrics.recordLatency(start);
+
+        if (motion < motionThreshold) {
+            LOGGER.debug("   --- No motion detected in image {} ({} < {}) --> discard image", readOnlyKey, motion, motionThreshold);
+            metrics.recordDropped();
+            return null;
+        }
+
+        metrics.recordPassed();
+        return image;
+    }
+
+    /**
+     * @return the fraction of pixels whose luminance differs more than the pixel threshold
+     */
+    double changedPixels(byte[] previous, byte[] current) {
+        if (previous.length != current.length) {
+            return 1d;
+        }
+
+        int changed = 0;
+        for (int i = 0; i < current.length; i++) {
+            if (Math.abs((previous[i] & 0xff) - (current[i] & 0xff)) > pixelThreshold) {
+                changed++;
+            }
+        }
+        return (double) changed / current.length;
+    }
+
+    @Override
+    public void close() {
+        // the store is closed by Kafka Streams
+    }
+}
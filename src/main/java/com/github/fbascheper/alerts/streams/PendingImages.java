@@ -0,0 +1,101 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.util.kafka.ClaimCheckImageSerde;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * The images which a transformer has received but not yet classified, kept in a state store.
+ * <p>
+ * Kafka Streams flushes the state stores (and their changelog topics) before it commits the offsets of the input records,
+ * so an image whose offset has been committed is either classified or still in this store. After a crash or rebalance,
+ * the next owner of the task {@link #restore() restores} the pending images and classifies them before any new image.
+ * </p>
+ * <p>
+ * When the images are kept in the claim-check, the store only holds their references. Otherwise the store is not logged,
+ * so the data of each image isn't written to the broker once more: the pending images then survive a restart of the
+ * instance, but are lost when their task moves to another instance.
+ * </p>
+ * <p>
+ * The images are stored under their record key, prefixed with a zero-padded sequence number, so the store iterates
+ * over them in arrival order.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+final class PendingImages {
+
+    private static final Logger LOGGER = getLogger(PendingImages.class);
+
+    private static final String KEY_FORMAT = "%019d/%s";
+
+    private final KeyValueStore<String, SerializableImage> store;
+    private long nextSequence;
+
+    PendingImages(KeyValueStore<String, SerializableImage> store) {
+        this.store = store;
+    }
+
+    /**
+     * @return the images left pending by a previous owner of the task, keyed by their pending key, in arrival order
+     */
+    List<KeyValue<String, SerializableImage>> restore() {
+        List<KeyValue<String, SerializableImage>> result = new ArrayList<>();
+        List<String> lost = new ArrayList<>();
+        try (KeyValueIterator<String, SerializableImage> iterator = store.all()) {
+            while (iterator.hasNext()) {
+                KeyValue<String, SerializableImage> next = iterator.next();
+                nextSequence = Long.parseLong(next.key.substring(0, next.key.indexOf('/'))) + 1;
+                if (!ClaimCheckImageSerde.isEvicted(next.value)) {
+                    result.add(next);
+                } else {
+                    lost.add(next.key);
+                }
+            }
+        }
+        // the data of a claim-checked image can't be classified once it has been evicted
+        for (String pendingKey : lost) {
+            LOGGER.warn("Image data of pending image {} has been evicted --> discard image", recordKey(pendingKey));
+            store.delete(pendingKey);
+        }
+        if (!result.isEmpty()) {
+            LOGGER.info("Restored {} pending images", result.size());
+        }
+        return result;
+    }
+
+    /**
+     * @param key   the record key of the image
+     * @param image the image
+     * @return the pending key of the image, which is used to {@link #remove(String) remove} it
+     */
+    String add(String key, SerializableImage image) {
+        String pendingKey = String.format(KEY_FORMAT, nextSequence++, key);
+        store.put(pendingKey, image);
+        return pendingKey;
+    }
+
+    /**
+     * @param pendingKey the pending key of a classified image
+     */
+    void remove(String pendingKey) {
+        store.delete(pendingKey);
+    }
+
+    /**
+     * @param pendingKey the pending key of an image
+     * @return the record key of the image
+     */
+    static String recordKey(String pendingKey) {
+        return pendingKey.substring(pendingKey.indexOf('/') + 1);
+    }
+}
@@ -0,0 +1,245 @@
+package com.github.fbascheper.alerts.util.common;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Configuration of the burglar alerts application.
+ * <p>
+ * The defaults are read from the file {@value #DEFAULTS_RESOURCE} on the classpath, and may be overridden
+ * by an external properties file, set by the environment variable {@value #CONFIG_FILE_ENV} or the system property
+ * {@value #CONFIG_FILE_PROPERTY}.
+ * Each property can be overridden by an environment variable, whose name is the property name in upper case,
+ * prefixed with {@value #ENV_PREFIX} and with all dots and dashes replaced by underscores
+ * (e.g. {@code BURGLAR_ALERTS_INFERENCE_MODE} for {@code inference.mode}), or by a system property.
+ * </p>
+ * <p>
+ * A value may refer to system properties using placeholders, e.g. {@code ${user.home}/images}.
+ * </p>
+ * <p>
+ * The properties prefixed with {@value #KAFKA_STREAMS_PREFIX} are passed on to Kafka Streams; besides the defaults,
+ * any of those properties may be added by the external properties file or a system property.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class ApplicationConfig {
+
+    private static final Logger LOGGER = getLogger(ApplicationConfig.class);
+
+    static final String DEFAULTS_RESOURCE = "burglar-alerts.properties";
+    static final String ENV_PREFIX = "BURGLAR_ALERTS_";
+    static final String CONFIG_FILE_ENV = ENV_PREFIX + "CONFIG_FILE";
+    static final String CONFIG_FILE_PROPERTY = "burglar-alerts.config-file";
+
+    /**
+     * Prefix of the properties which are passed on to Kafka Streams.
+     */
+    public static final String KAFKA_STREAMS_PREFIX = "kafka.streams.";
+
+    private final Properties properties;
+
+    /**
+     * Create a configuration with the given properties.
+     *
+     * @param properties the configuration properties
+     */
+    public ApplicationConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Load the configuration from the classpath, the external properties file, the environment and the system properties.
+     *
+     * @return the configuration
+     */
+    public static ApplicationConfig load() {
+        return load(System.getenv(), System.getProperties());
+    }
+
+    static ApplicationConfig load(Map<String, String> environment, Properties systemProperties) {
+        Properties properties = new Properties();
+
+        try (InputStream stream = ApplicationConfig.class.getClassLoader().getResourceAsStream(DEFAULTS_RESOURCE)) {
+            Objects.requireNonNull(stream);
+            properties.load(stream);
+
+        } catch (IOException | NullPointerException ex) {
+            LOGGER.error("Could not read file " + DEFAULTS_RESOURCE + " from classpath", ex);
+            throw new IllegalStateException("Could not read file " + DEFAULTS_RESOURCE + " from classpath", ex);
+        }
+
+        String configFile = systemProperties.getProperty(CONFIG_FILE_PROPERTY, environment.get(CONFIG_FILE_ENV));
+        if (configFile != null && !configFile.trim().isEmpty()) {
+            try (InputStream stream = Files.newInputStream(Paths.get(configFile.trim()))) {
+                properties.load(stream);
+                LOGGER.info("Read configuration file {}", configFile);
+
+            } catch (IOException ex) {
+                LOGGER.error("Could not read configuration file " + configFile, ex);
+                throw new IllegalStateException("Could not read configuration file " + configFile, ex);
+            }
+        }
+
+        return new ApplicationConfig(withOverrides(properties, environment, systemProperties));
+    }
+
+    static Properties withOverrides(Properties defaults, Map<String, String> environment, Properties systemProperties) {
+        Properties result = new Properties();
+        result.putAll(defaults);
+
+        for (String name : defaults.stringPropertyNames()) {
+            String envValue = environment.get(toEnvironmentVariable(name));
+            if (envValue != null) {
+                result.setProperty(name, envValue);
+            }
+        }
+        for (String name : systemProperties.stringPropertyNames()) {
+            if (defaults.containsKey(name) || name.startsWith(KAFKA_STREAMS_PREFIX)) {
+                result.setProperty(name, systemProperties.getProperty(name));
+            }
+        }
+
+        return result;
+    }
+
+    static String toEnvironmentVariable(String name) {
+        return ENV_PREFIX + name.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+
+    /**
+     * @param name name of the property
+     * @return the (trimmed) value of a mandatory property
+     */
+    public String getString(String name) {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            throw new IllegalStateException("Missing configuration property " + name);
+        }
+        return resolvePlaceholders(value.trim());
+    }
+
+    /**
+     * @param name name of the property
+     * @return the value of a mandatory integer property
+     */
+    public int getInt(String name) {
+        return Integer.parseInt(getString(name));
+    }
+
+    /**
+     * @param name name of the property
+     * @return the value of a mandatory long property
+     */
+    public long getLong(String name) {
+        return Long.parseLong(getString(name));
+    }
+
+    /**
+     * @param name name of the property
+     * @return the value of a mandatory double property
+     */
+    public double getDouble(String name) {
+        return Double.parseDouble(getString(name));
+    }
+
+    /**
+     * @param name name of the property
+     * @return the value of a mandatory boolean property
+     */
+    public boolean getBoolean(String name) {
+        return Boolean.parseBoolean(getString(name));
+    }
+
+    /**
+     * @param name      name of the property
+     * @param enumClass the enumeration type
+     * @param <E>       the enumeration type
+     * @return the value of a mandatory property, as an enumeration constant (using dashes instead of underscores)
+     */
+    public <E extends Enum<E>> E getEnum(String name, Class<E> enumClass) {
+        return Enum.valueOf(enumClass, getString(name).toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    /**
+     * @param name name of the property
+     * @return the value of a mandatory property holding comma separated {@code key:value} pairs, e.g.
+     * {@code garden:0.05,street:0.2}, which may be empty
+     */
+    public Map<String, String> getMap(String name) {
+        Map<String, String> result = new LinkedHashMap<>();
+
+        for (String entry : getString(name).split(",")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("Invalid entry '" + entry + "' of configuration property " + name);
+            }
+            result.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+
+        return result;
+    }
+
+    /**
+     * @param prefix prefix of the properties
+     * @return the (trimmed) values of all properties with the given prefix, with the prefix removed from their names
+     */
+    public Properties getProperties(String prefix) {
+        Properties result = new Properties();
+
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                result.setProperty(name.substring(prefix.length()), resolvePlaceholders(properties.getProperty(name).trim()));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Replace the placeholders {@code ${name}} in a value by the value of the system property {@code name}.
+     *
+     * @param value the value
+     * @return the value, with its placeholders replaced
+     */
+    static String resolvePlaceholders(String value) {
+        StringBuilder result = new StringBuilder();
+        int index = 0;
+
+        int start;
+        while ((start = value.indexOf("${", index)) >= 0) {
+            int end = value.indexOf('}', start);
+            if (end < 0) {
+                break;
+            }
+
+            String name = value.substring(start + 2, end);
+            String replacement = System.getProperty(name);
+            if (replacement == null) {
+                throw new IllegalStateException("Unknown system property " + name + " in configuration value " + value);
+            }
+
+            result.append(value, index, start).append(replacement);
+            index = end + 1;
+        }
+
+        return result.append(value.substring(index)).toString();
+    }
+
+}
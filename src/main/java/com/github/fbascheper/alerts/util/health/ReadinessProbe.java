@@ -0,0 +1,142 @@
+package com.github.fbascheper.alerts.util.health;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.kafka.streams.KafkaStreams;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Liveness and readiness of the burglar alerts application, e.g. for the probes of a container orchestrator.
+ * <p>
+ * The application is ready when TensorFlow inference has been warmed up, and {@code KafkaStreams} is running
+ * (which it isn't while rebalancing). Readiness is exposed by an HTTP endpoint, on the paths {@code /health/live}
+ * and {@code /health/ready}, which return {@code 200} or {@code 503}, and/or by a file which only exists while
+ * the application is ready.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class ReadinessProbe implements AutoCloseable {
+
+    private static final Logger LOGGER = getLogger(ReadinessProbe.class);
+
+    private final HttpServer server;
+    private final Path readyFile;
+
+    private volatile boolean warmedUp;
+    private volatile KafkaStreams.State streamsState = KafkaStreams.State.CREATED;
+    private boolean ready;
+
+    /**
+     * Create a new probe, which is not ready until inference has been warmed up and Kafka Streams is running.
+     *
+     * @param port      the port of the HTTP endpoint, or {@code 0} to disable it
+     * @param readyFile the file which exists while the application is ready, or an empty string to disable it
+     */
+    public ReadinessProbe(int port, String readyFile) {
+        this.readyFile = readyFile.isEmpty() ? null : Paths.get(readyFile);
+        deleteReadyFile();
+
+        if (port > 0) {
+            try {
+                this.server = HttpServer.create(new InetSocketAddress(port), 0);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not start health endpoint on port " + port, ex);
+            }
+            this.server.createContext("/health/live", exchange -> respond(exchange, true));
+            this.server.createContext("/health/ready", exchange -> respond(exchange, isReady()));
+            this.server.start();
+            LOGGER.info("Started health endpoint on port {}", port);
+        } else {
+            this.server = null;
+        }
+    }
+
+    /**
+     * Mark TensorFlow inference as warmed up.
+     */
+    public void warmedUp() {
+        this.warmedUp = true;
+        update();
+    }
+
+    /**
+     * Follow the state of Kafka Streams; must be called before it is started.
+     *
+     * @param streams the Kafka Streams application
+     */
+    public void setStreams(KafkaStreams streams) {
+        streams.setStateListener((newState, oldState) -> {
+            this.streamsState = newState;
+            update();
+        });
+    }
+
+    /**
+     * @return {@code true} if the application is ready to process camera images
+     */
+    public boolean isReady() {
+        return warmedUp && streamsState.isRunning() && streamsState != KafkaStreams.State.REBALANCING;
+    }
+
+    private synchronized void update() {
+        boolean nowReady = isReady();
+        if (nowReady == ready) {
+            return;
+        }
+
+        ready = nowReady;
+        LOGGER.info("Burglar alerts application is {}", ready ? "ready" : "not ready");
+
+        if (readyFile != null) {
+            if (ready) {
+                try {
+                    Files.write(readyFile, new byte[0]);
+                } catch (IOException ex) {
+                    LOGGER.warn("Could not create ready file " + readyFile, ex);
+                }
+            } else {
+                deleteReadyFile();
+            }
+        }
+    }
+
+    private void deleteReadyFile() {
+        if (readyFile != null) {
+            try {
+                Files.deleteIfExists(readyFile);
+            } catch (IOException ex) {
+                LOGGER.warn("Could not delete ready file " + readyFile, ex);
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, boolean up) throws IOException {
+        byte[] body = (up ? "UP" : "DOWN").getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(up ? 200 : 503, body.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        deleteReadyFile();
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.fbascheper.alerts.util.image;
+
+import javax.imageio.stream.ImageInputStreamImpl;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Image input stream reading the remaining bytes of a buffer in place.
+ * <p>
+ * Unlike the streams created by {@link javax.imageio.ImageIO#createImageInputStream(Object)}, the image data
+ * is neither copied into an array, nor cached in memory or in a temporary file, so heap, direct and
+ * memory-mapped buffers are all decoded without copying them.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+final class ByteBufferImageInputStream extends ImageInputStreamImpl {
+
+    private final ByteBuffer data;
+
+    /**
+     * @param imageData the encoded image, which is not modified
+     */
+    ByteBufferImageInputStream(ByteBuffer imageData) {
+        this.data = imageData.slice();
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        bitOffset = 0;
+
+        if (streamPos >= data.limit()) {
+            return -1;
+        }
+        return data.get((int) streamPos++) & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        checkClosed();
+        bitOffset = 0;
+
+        if (streamPos >= data.limit()) {
+            return -1;
+        }
+
+        int count = (int) Math.min(length, data.limit() - streamPos);
+        ByteBuffer source = data.duplicate();
+        source.position((int) streamPos);
+        source.get(bytes, offset, count);
+
+        streamPos += count;
+        return count;
+    }
+
+    @Override
+    public long length() {
+        return data.limit();
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.fbascheper.alerts.util.image;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hash of the contents of an image, which identifies identical images regardless of their name.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class ContentHash {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ContentHash() {
+        // prevent instantiation
+    }
+
+    /**
+     * @param imageData the image data, which is not modified
+     * @return the SHA-256 hash of the image data, as 64 lower case hexadecimal digits
+     */
+    public static String sha256(ByteBuffer imageData) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(imageData.duplicate());
+
+            byte[] hash = digest.digest();
+            char[] result = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                result[2 * i] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+                result[2 * i + 1] = HEX_DIGITS[hash[i] & 0xf];
+            }
+            return new String(result);
+
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.github.fbascheper.alerts.util.image;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Content-addressed store of images on local disk, used to keep the image data out of Kafka (claim-check).
+ * <p>
+ * Each image is stored once, in a file named after the SHA-256 hash of its contents, which is the reference
+ * to the image. Images are read using memory-mapped files, so their data is not copied onto the heap.
+ * </p>
+ * <p>
+ * Images are evicted in the background when they have not been stored for longer than the maximum age,
+ * and the least recently stored images are evicted when the total size of the store exceeds its maximum size.
+ * The maximum age must therefore exceed the time for which an image is referenced by a record or a state store.
+ * </p>
+ * <p>
+ * A store is thread-safe, and may be shared by several processes using the same directory.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class ImageBlobStore implements AutoCloseable {
+
+    private static final Logger LOGGER = getLogger(ImageBlobStore.class);
+
+    private static final Pattern REFERENCE = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path directory;
+    private final Duration maxAge;
+    private final long maxBytes;
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * Create a new store, which evicts images in the background.
+     *
+     * @param directory the directory holding the images, which is created when it doesn't exist
+     * @param maxAge    the maximum time an image is kept after it was last stored
+     * @param maxBytes  the maximum total size of the images
+     */
+    public ImageBlobStore(Path directory, Duration maxAge, long maxBytes) {
+        this.directory = directory;
+        this.maxAge = maxAge;
+        this.maxBytes = maxBytes;
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create image blob store directory " + directory, ex);
+        }
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "image-blob-store-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval = Math.max(1000L, maxAge.toMillis() / 10);
+        this.evictor.scheduleWithFixedDelay(this::evictQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Store an image, unless the same image is stored already.
+     *
+     * @param imageData the image data
+     * @return the reference to the image
+     */
+    public String put(ByteBuffer imageData) {
+        String reference = ContentHash.sha256(imageData);
+        Path file = path(reference);
+
+        try {
+            if (touch(file)) {
+                return reference;
+            }
+
+            Files.createDirectories(file.getParent());
+            Path temporary = Files.createTempFile(file.getParent(), reference, ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer source = imageData.duplicate();
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+            }
+
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException | AtomicMoveNotSupportedException ex) {
+                // the same image was stored concurrently
+                Files.deleteIfExists(temporary);
+            }
+
+            return reference;
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not store image " + reference, ex);
+        }
+    }
+
+    /**
+     * Restart the eviction clock of a stored image.
+     *
+     * @param reference the reference to the image
+     * @return {@code true} if the image is stored, {@code false} otherwise
+     * @throws IllegalArgumentException if the reference is invalid
+     */
+    public boolean touch(String reference) {
+        try {
+            return touch(path(reference));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not touch image " + reference, ex);
+        }
+    }
+
+    private static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Read an image.
+     *
+     * @param reference the reference to the image
+     * @return the (read-only, memory-mapped) image data, or {@code null} if the image was not found
+     * @throws IllegalArgumentException if the reference is invalid
+     */
+    public ByteBuffer get(String reference) {
+        try (FileChannel channel = FileChannel.open(path(reference), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+        } catch (NoSuchFileException ex) {
+            return null;
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read image " + reference, ex);
+        }
+    }
+
+    /**
+     * Evict all images older than the maximum age, and the least recently stored images
+     * until the total size of the store no longer exceeds the maximum size.
+     *
+     * @return the number of evicted images
+     * @throws IOException if the store can't be read
+     */
+    public int evict() throws IOException {
+        long expiry = System.currentTimeMillis() - maxAge.toMillis();
+
+        List<Blob> blobs = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            files.filter(file -> REFERENCE.matcher(file.getFileName().toString()).matches())
+                    .forEach(file -> {
+                        try {
+                            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                            blobs.add(new Blob(file, attributes.lastModifiedTime().toMillis(), attributes.size()));
+                        } catch (IOException ex) {
+                            // evicted concurrently
+                        }
+                    });
+        }
+        blobs.sort(Comparator.comparingLong(blob -> blob.lastModified));
+
+        long totalBytes = blobs.stream().mapToLong(blob -> blob.size).sum();
+        int evicted = 0;
+
+        for (Blob blob : blobs) {
+            if (blob.lastModified >= expiry && totalBytes <= maxBytes) {
+                break;
+            }
+
+            Files.deleteIfExists(blob.file);
+            totalBytes -= blob.size;
+            evicted++;
+        }
+
+        if (evicted > 0) {
+            LOGGER.debug("Evicted {} images from image blob store, {} bytes remaining", evicted, totalBytes);
+        }
+        return evicted;
+    }
+
+    private void evictQuietly() {
+        try {
+            evict();
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Could not evict images from image blob store " + directory, ex);
+        }
+    }
+
+    private Path path(String reference) {
+        if (!REFERENCE.matcher(reference).matches()) {
+            throw new IllegalArgumentException("Invalid image reference " + reference);
+        }
+        return directory.resolve(reference.substring(0, 2)).resolve(reference);
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+    }
+
+    private static final class Blob {
+        private final Path file;
+        private final long lastModified;
+        private final long size;
+
+        private Blob(Path file, long lastModified, long size) {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.fbascheper.alerts.util.image;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * Normalization of encoded images into the input of a TensorFlow model, in Java instead of TensorFlow operations.
+ * <p>
+ * The image is decoded with source subsampling, so only about as many pixels are decoded as needed for the
+ * model, instead of decoding the full camera image. It is then resized with bilinear interpolation, which follows
+ * TensorFlow's {@code ResizeBilinear} (without aligned corners), and normalized as {@code (value - mean) / scale}.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class ImageNormalizer {
+
+    private ImageNormalizer() {
+        // prevent instantiation
+    }
+
+    /**
+     * Normalize an encoded image.
+     *
+     * @param imageData the encoded (e.g. JPEG) image, which is not modified
+     * @param width     the width of the normalized image
+     * @param height    the height of the normalized image
+     * @param mean      the mean subtracted from each color value
+     * @param scale     the scale by which each color value is divided
+     * @param target    buffer to which the normalized R, G and B values are written, pixel by pixel and row by row
+     * @throws IllegalArgumentException if the image can't be decoded
+     */
+    public static void normalize(ByteBuffer imageData, int width, int height, float mean, float scale, FloatBuffer target) {
+        BufferedImage image = toInterleavedRgb(ImageUtils.decodeSubsampled(imageData, width, height));
+
+        final int sourceWidth = image.getWidth();
+        final int sourceHeight = image.getHeight();
+
+        PixelInterleavedSampleModel sampleModel = (PixelInterleavedSampleModel) image.getSampleModel();
+        final byte[] pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        final int pixelStride = sampleModel.getPixelStride();
+        final int scanlineStride = sampleModel.getScanlineStride();
+        final int red = sampleModel.getBandOffsets()[0];
+        final int green = sampleModel.getBandOffsets()[1];
+        final int blue = sampleModel.getBandOffsets()[2];
+
+        // offsets of the source pixels left and right of each target column, and the weight of the right one
+        final float xScale = sourceWidth / (float) width;
+        int[] left = new int[width];
+        int[] right = new int[width];
+        float[] xWeights = new float[width];
+        for (int x = 0; x < width; x++) {
+            float sourceX = x * xScale;
+            int leftX = (int) sourceX;
+            left[x] = leftX * pixelStride;
+            right[x] = Math.min(leftX + 1, sourceWidth - 1) * pixelStride;
+            xWeights[x] = sourceX - leftX;
+        }
+
+        final float yScale = sourceHeight / (float) height;
+        for (int y = 0; y < height; y++) {
+            float sourceY = y * yScale;
+            int topY = (int) sourceY;
+            int top = topY * scanlineStride;
+            int bottom = Math.min(topY + 1, sourceHeight - 1) * scanlineStride;
+            float yWeight = sourceY - topY;
+
+            for (int x = 0; x < width; x++) {
+                int topLeft = top + left[x];
+                int topRight = top + right[x];
+                int bottomLeft = bottom + left[x];
+                int bottomRight = bottom + right[x];
+                float xWeight = xWeights[x];
+
+                target.put((interpolate(pixels, red, topLeft, topRight, bottomLeft, bottomRight, xWeight, yWeight) - mean) / scale);
+                target.put((interpolate(pixels, green, topLeft, topRight, bottomLeft, bottomRight, xWeight, yWeight) - mean) / scale);
+                target.put((interpolate(pixels, blue, topLeft, topRight, bottomLeft, bottomRight, xWeight, yWeight) - mean) / scale);
+            }
+        }
+    }
+
+    private static float interpolate(byte[] pixels, int band, int topLeft, int topRight, int bottomLeft, int bottomRight,
+                                     float xWeight, float yWeight) {
+        float topLeftValue = pixels[topLeft + band] & 0xff;
+        float bottomLeftValue = pixels[bottomLeft + band] & 0xff;
+
+        float topValue = topLeftValue + ((pixels[topRight + band] & 0xff) - topLeftValue) * xWeight;
+        float bottomValue = bottomLeftValue + ((pixels[bottomRight + band] & 0xff) - bottomLeftValue) * xWeight;
+        return topValue + (bottomValue - topValue) * yWeight;
+    }
+
+    /**
+     * @return the image itself when it holds interleaved 8-bit RGB samples (as decoded color JPEG images do),
+     * or otherwise a copy holding interleaved 8-bit RGB samples (e.g. of grayscale images)
+     */
+    private static BufferedImage toInterleavedRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_3BYTE_BGR) {
+            return image;
+        }
+
+        BufferedImage result = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D graphics = result.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return result;
+    }
+}
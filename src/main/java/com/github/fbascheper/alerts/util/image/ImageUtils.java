@@ -0,0 +1,118 @@
+package com.github.fbascheper.alerts.util.image;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/**
+ * Basic image utilities.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class ImageUtils {
+
+    // minimum number of decoded pixels for each pixel of a thumbnail, in both directions
+    private static final int MIN_SOURCE_PIXELS = 4;
+
+    private ImageUtils() {
+        // prevent instantiation
+    }
+
+    /**
+     * Create a small grayscale thumbnail of an encoded image.
+     * <p>
+     * The image is decoded with source subsampling, so only a fraction of its pixels is decoded,
+     * after which the luminance of each thumbnail pixel is the average of the decoded pixels it covers.
+     * </p>
+     *
+     * @param imageData the encoded (e.g. JPEG) image
+     * @param width     width of the thumbnail
+     * @param height    height of the thumbnail
+     * @return the luminance (0 .. 255) of the pixels of the thumbnail, row by row
+     * @throws IllegalArgumentException if the image can't be decoded
+     */
+    public static int[] grayscaleThumbnail(ByteBuffer imageData, int width, int height) {
+        BufferedImage image = decodeSubsampled(imageData, width * MIN_SOURCE_PIXELS, height * MIN_SOURCE_PIXELS);
+
+        final int imageWidth = image.getWidth();
+        final int imageHeight = image.getHeight();
+        if (imageWidth < width || imageHeight < height) {
+            throw new IllegalArgumentException(String.format(
+                    "Image of %dx%d pixels is too small for a thumbnail of %dx%d pixels", imageWidth, imageHeight, width, height));
+        }
+
+        long[] sums = new long[width * height];
+        int[] counts = new int[width * height];
+        int[] row = new int[imageWidth];
+
+        for (int y = 0; y < imageHeight; y++) {
+            image.getRGB(0, y, imageWidth, 1, row, 0, imageWidth);
+            int offset = (y * height / imageHeight) * width;
+
+            for (int x = 0; x < imageWidth; x++) {
+                int rgb = row[x];
+                int luminance = (299 * ((rgb >> 16) & 0xff) + 587 * ((rgb >> 8) & 0xff) + 114 * (rgb & 0xff)) / 1000;
+
+                int index = offset + x * width / imageWidth;
+                sums[index] += luminance;
+                counts[index]++;
+            }
+        }
+
+        int[] result = new int[width * height];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) (sums[i] / counts[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Decode an encoded image, skipping as many pixels as possible while still decoding at least the given size.
+     *
+     * @param imageData the encoded image
+     * @param minWidth  the minimum width of the decoded image
+     * @param minHeight the minimum height of the decoded image
+     * @return the decoded image
+     * @throws IllegalArgumentException if the image can't be decoded
+     */
+    static BufferedImage decodeSubsampled(ByteBuffer imageData, int minWidth, int minHeight) {
+        try (ImageInputStream input = toImageInputStream(imageData)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("No image reader found for image");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+
+                int subsampling = Math.max(1, Math.min(reader.getWidth(0) / minWidth, reader.getHeight(0) / minHeight));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                return reader.read(0, param);
+
+            } finally {
+                reader.dispose();
+            }
+
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Could not decode image", ex);
+        }
+    }
+
+    /**
+     * @param imageData the encoded image, which is not modified
+     * @return a stream reading the image data in place, without copying or caching it
+     */
+    static ImageInputStream toImageInputStream(ByteBuffer imageData) {
+        return new ByteBufferImageInputStream(imageData);
+    }
+
+}
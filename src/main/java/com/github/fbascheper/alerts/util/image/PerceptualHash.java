@@ -0,0 +1,58 @@
+package com.github.fbascheper.alerts.util.image;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Perceptual hashing of images, to detect near-identical images such as the frames a camera uploads
+ * while nothing moves.
+ * <p>
+ * The difference hash (dHash) compares the luminance of horizontally adjacent pixels of a 9x8 grayscale
+ * thumbnail, which yields 64 bits that hardly change with small differences in lighting, noise or
+ * JPEG compression. The similarity of two images is the Hamming distance of their hashes.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class PerceptualHash {
+
+    private static final int HASH_WIDTH = 8;
+    private static final int HASH_HEIGHT = 8;
+
+    private PerceptualHash() {
+        // prevent instantiation
+    }
+
+    /**
+     * Compute the difference hash of an encoded image.
+     *
+     * @param imageData the encoded (e.g. JPEG) image
+     * @return the 64-bit difference hash
+     * @throws IllegalArgumentException if the image can't be decoded
+     */
+    public static long differenceHash(ByteBuffer imageData) {
+        int[] thumbnail = ImageUtils.grayscaleThumbnail(imageData, HASH_WIDTH + 1, HASH_HEIGHT);
+
+        long hash = 0L;
+        for (int y = 0; y < HASH_HEIGHT; y++) {
+            int offset = y * (HASH_WIDTH + 1);
+            for (int x = 0; x < HASH_WIDTH; x++) {
+                hash <<= 1;
+                if (thumbnail[offset + x] < thumbnail[offset + x + 1]) {
+                    hash |= 1L;
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @param hash1 a perceptual hash
+     * @param hash2 another perceptual hash
+     * @return the number of bits that differ between both hashes (0 .. 64)
+     */
+    public static int hammingDistance(long hash1, long hash2) {
+        return Long.bitCount(hash1 ^ hash2);
+    }
+
+}
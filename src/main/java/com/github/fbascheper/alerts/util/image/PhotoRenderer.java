@@ -0,0 +1,173 @@
+package com.github.fbascheper.alerts.util.image;
+
+import org.slf4j.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Renderer of the photos sent to Telegram, which downscales camera images to a maximum dimension and
+ * recompresses them as JPEG with a given quality.
+ * <p>
+ * An image which already fits the maximum dimension is returned unchanged, without decoding it.
+ * Larger images are decoded with source subsampling, so only the pixels needed for the downscaled image are decoded.
+ * When the recompressed image turns out to be larger than the original image, or when the image can't be decoded,
+ * the original image is returned.
+ * </p>
+ * <p>
+ * A renderer is thread-safe.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class PhotoRenderer {
+
+    private static final Logger LOGGER = getLogger(PhotoRenderer.class);
+
+    /**
+     * Renderer which always returns the original image.
+     */
+    public static final PhotoRenderer ORIGINAL = new PhotoRenderer(0, 1f);
+
+    private final int maxDimension;
+    private final float jpegQuality;
+
+    /**
+     * Create a new renderer.
+     *
+     * @param maxDimension maximum width and height of the rendered photos, or 0 to always use the original image
+     * @param jpegQuality  the JPEG compression quality (0 .. 1) of the rendered photos
+     */
+    public PhotoRenderer(int maxDimension, float jpegQuality) {
+        if (maxDimension < 0) {
+            throw new IllegalArgumentException("Invalid maximum dimension " + maxDimension);
+        }
+        if (jpegQuality <= 0f || jpegQuality > 1f) {
+            throw new IllegalArgumentException("Invalid JPEG quality " + jpegQuality);
+        }
+        this.maxDimension = maxDimension;
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * Render an encoded image as a photo.
+     *
+     * @param imageData the encoded (e.g. JPEG) image
+     * @return the rendered JPEG image, or the original image
+     */
+    public ByteBuffer render(ByteBuffer imageData) {
+        if (maxDimension == 0) {
+            return imageData;
+        }
+
+        try {
+            BufferedImage image = decodeDownscaled(imageData);
+            if (image == null) {
+                return imageData;
+            }
+
+            byte[] jpeg = encodeJpeg(image);
+            if (jpeg.length >= imageData.remaining()) {
+                return imageData;
+            }
+
+            LOGGER.debug("Rendered photo of {} bytes as {}x{} JPEG of {} bytes",
+                    imageData.remaining(), image.getWidth(), image.getHeight(), jpeg.length);
+            return ByteBuffer.wrap(jpeg);
+
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Could not render photo, using original image", ex);
+            return imageData;
+        }
+    }
+
+    /**
+     * Decode an image which exceeds the maximum dimension, and downscale it to fit that dimension.
+     *
+     * @param imageData the encoded image
+     * @return the downscaled image, or {@code null} if the image already fits the maximum dimension
+     */
+    private BufferedImage decodeDownscaled(ByteBuffer imageData) throws IOException {
+        try (ImageInputStream input = ImageUtils.toImageInputStream(imageData)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("No image reader found for image");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+
+                final int width = reader.getWidth(0);
+                final int height = reader.getHeight(0);
+                final int largest = Math.max(width, height);
+                if (largest <= maxDimension) {
+                    return null;
+                }
+
+                // decode at least the maximum dimension, and scale the remainder with bilinear interpolation
+                int subsampling = Math.max(1, largest / maxDimension);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                BufferedImage decoded = reader.read(0, param);
+                int targetWidth = Math.max(1, (int) ((long) width * maxDimension / largest));
+                int targetHeight = Math.max(1, (int) ((long) height * maxDimension / largest));
+
+                return scale(decoded, targetWidth, targetHeight);
+
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D graphics = result.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return result;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+
+        } finally {
+            writer.dispose();
+        }
+
+        return output.toByteArray();
+    }
+}
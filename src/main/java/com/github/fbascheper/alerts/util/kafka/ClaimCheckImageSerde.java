@@ -0,0 +1,137 @@
+package com.github.fbascheper.alerts.util.kafka;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.util.image.ImageBlobStore;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.slf4j.Logger;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Serde of images which keeps the image data out of Kafka (claim-check): the image data is written to an
+ * {@link ImageBlobStore}, and only a reference to it is serialized by the wrapped serde.
+ * <p>
+ * When an image is deserialized, its data is read from the blob store (as a memory-mapped buffer), and its reference
+ * is kept, so it isn't stored again when it is serialized once more.
+ * </p>
+ * <p>
+ * An image whose data has been evicted from the blob store is deserialized with its reference, but without data, so its
+ * record isn't lost: each consumer of such an image decides how to handle it, see {@link #isEvicted(SerializableImage)}.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class ClaimCheckImageSerde implements Serde<SerializableImage> {
+
+    private static final Logger LOGGER = getLogger(ClaimCheckImageSerde.class);
+
+    private static final ByteBuffer NO_IMAGE_DATA = ByteBuffer.allocate(0);
+
+    private final Serde<SerializableImage> inner;
+    private final ImageBlobStore blobStore;
+
+    /**
+     * Create a new serde.
+     *
+     * @param inner     the serde of the image references
+     * @param blobStore the store holding the image data
+     */
+    public ClaimCheckImageSerde(Serde<SerializableImage> inner, ImageBlobStore blobStore) {
+        this.inner = inner;
+        this.blobStore = blobStore;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        inner.configure(configs, isKey);
+    }
+
+    @Override
+    public Serializer<SerializableImage> serializer() {
+        Serializer<SerializableImage> serializer = inner.serializer();
+
+        return new Serializer<SerializableImage>() {
+            @Override
+            public void configure(Map<String, ?> configs, boolean isKey) {
+                serializer.configure(configs, isKey);
+            }
+
+            @Override
+            public byte[] serialize(String topic, SerializableImage image) {
+                if (image == null) {
+                    return serializer.serialize(topic, null);
+                }
+
+                // an image read from the blob store is not stored (and hashed) again, nor is an evicted image
+                String imageRef = image.getImageRef() != null && (blobStore.touch(image.getImageRef()) || isEvicted(image))
+                        ? image.getImageRef()
+                        : blobStore.put(image.getImageData());
+
+                SerializableImage reference = SerializableImage.newBuilder(image)
+                        .setImageData(NO_IMAGE_DATA)
+                        .setImageRef(imageRef)
+                        .build();
+                return serializer.serialize(topic, reference);
+            }
+
+            @Override
+            public void close() {
+                serializer.close();
+            }
+        };
+    }
+
+    @Override
+    public Deserializer<SerializableImage> deserializer() {
+        Deserializer<SerializableImage> deserializer = inner.deserializer();
+
+        return new Deserializer<SerializableImage>() {
+            @Override
+            public void configure(Map<String, ?> configs, boolean isKey) {
+                deserializer.configure(configs, isKey);
+            }
+
+            @Override
+            public SerializableImage deserialize(String topic, byte[] data) {
+                SerializableImage image = deserializer.deserialize(topic, data);
+                if (image == null || image.getImageRef() == null) {
+                    return image;
+                }
+
+                ByteBuffer imageData = blobStore.get(image.getImageRef());
+                if (imageData == null) {
+                    LOGGER.warn("Image {} not found in image blob store --> image {} has no data", image.getImageRef(), image.getName());
+                    image.setImageData(NO_IMAGE_DATA);
+                    return image;
+                }
+
+                image.setImageData(imageData);
+                return image;
+            }
+
+            @Override
+            public void close() {
+                deserializer.close();
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        inner.close();
+    }
+
+    /**
+     * @param image the image
+     * @return {@code true} if the data of the image has been evicted from the blob store, {@code false} otherwise
+     */
+    public static boolean isEvicted(SerializableImage image) {
+        return image.getImageRef() != null && !image.getImageData().hasRemaining();
+    }
+}
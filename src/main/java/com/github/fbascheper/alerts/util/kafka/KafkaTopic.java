@@ -24,7 +24,7 @@ public enum KafkaTopic {
     TELEGRAM_BURGLAR_ALERT("burglar-alerts-telegram-topic"),
 
     /**
-     * Topic where the on/off state regarding the sending of alert messages is posted.
+     * Topic where the on/off state regarding the sending of alert messages is posted, keyed by accountId.
      */
     ALERTING_ENABLED_STATE("burglar-alerts-alerting-enabled-state-topic");
 
@@ -0,0 +1,46 @@
+package com.github.fbascheper.alerts.util.kafka;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A topic whose consumption is paused by a {@link PausableTopicConsumer} while a condition holds.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class PausableTopic {
+
+    private final String topic;
+    private final BooleanSupplier pauseCondition;
+    private final ResumeMode resumeMode;
+
+    /**
+     * Create a new pausable topic.
+     *
+     * @param topic          the topic that may be paused
+     * @param pauseCondition condition under which the topic is paused, which is checked before each poll
+     * @param resumeMode     how the topic is consumed when it's resumed
+     */
+    public PausableTopic(String topic, BooleanSupplier pauseCondition, ResumeMode resumeMode) {
+        this.topic = topic;
+        this.pauseCondition = pauseCondition;
+        this.resumeMode = resumeMode;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public BooleanSupplier getPauseCondition() {
+        return pauseCondition;
+    }
+
+    public ResumeMode getResumeMode() {
+        return resumeMode;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s)", topic, resumeMode);
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.fbascheper.alerts.util.kafka;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.streams.KafkaClientSupplier;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kafka client supplier whose main consumers are {@link PausableTopicConsumer}s.
+ * <p>
+ * The restore and global consumers are left untouched, so state stores and global tables are always kept up to date.
+ * Without any topics that may be paused, it supplies the same clients as Kafka Streams does by default.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class PausableTopicClientSupplier implements KafkaClientSupplier {
+
+    private final List<PausableTopic> topics;
+
+    /**
+     * Create a new client supplier.
+     *
+     * @param topics the topics that may be paused
+     */
+    public PausableTopicClientSupplier(List<PausableTopic> topics) {
+        this.topics = topics;
+    }
+
+    @Override
+    public AdminClient getAdminClient(Map<String, Object> config) {
+        return AdminClient.create(config);
+    }
+
+    @Override
+    public Producer<byte[], byte[]> getProducer(Map<String, Object> config) {
+        return new KafkaProducer<>(config, new ByteArraySerializer(), new ByteArraySerializer());
+    }
+
+    @Override
+    public Consumer<byte[], byte[]> getConsumer(Map<String, Object> config) {
+        Consumer<byte[], byte[]> consumer = createConsumer(config);
+        return topics.isEmpty() ? consumer : new PausableTopicConsumer(consumer, topics);
+    }
+
+    @Override
+    public Consumer<byte[], byte[]> getRestoreConsumer(Map<String, Object> config) {
+        return createConsumer(config);
+    }
+
+    @Override
+    public Consumer<byte[], byte[]> getGlobalConsumer(Map<String, Object> config) {
+        return createConsumer(config);
+    }
+
+    private static Consumer<byte[], byte[]> createConsumer(Map<String, Object> config) {
+        return new KafkaConsumer<>(config, new ByteArrayDeserializer(), new ByteArrayDeserializer());
+    }
+}
@@ -0,0 +1,368 @@
+package com.github.fbascheper.alerts.util.kafka;
+
+import org.apache.kafka.clients.consumer.CommitFailedException;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RetriableException;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Kafka consumer which stops fetching records from the partitions of a topic while a condition holds.
+ * <p>
+ * Each {@link PausableTopic} has its own condition, which is checked before each {@link #poll(Duration) poll}, so the
+ * partitions are paused and resumed by the thread which owns the consumer. Partitions paused by this consumer are not
+ * resumed by other callers of {@link #resume(Collection)}, such as Kafka Streams when its buffer of a partition has
+ * been drained. All other calls are delegated to the wrapped consumer.
+ * </p>
+ * <p>
+ * When a topic is resumed with {@link ResumeMode#SKIP}, the position its partitions skipped to is committed at once.
+ * Until a later position of such a partition is committed, offsets committed by Kafka Streams are raised to the skipped
+ * position, as Kafka Streams keeps committing the position of the last record it processed, so a restart doesn't read
+ * the skipped records again. This doesn't apply to offsets committed in a transaction, i.e. with exactly-once processing.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class PausableTopicConsumer implements Consumer<byte[], byte[]> {
+
+    private static final Logger LOGGER = getLogger(PausableTopicConsumer.class);
+
+    private final Consumer<byte[], byte[]> consumer;
+    private final Map<PausableTopic, Set<TopicPartition>> pausedPartitionsByTopic = new LinkedHashMap<>();
+    private final Map<TopicPartition, Long> skippedPositions = new HashMap<>();
+
+    /**
+     * Create a new consumer.
+     *
+     * @param consumer the consumer which fetches the records
+     * @param topics   the topics that may be paused
+     */
+    public PausableTopicConsumer(Consumer<byte[], byte[]> consumer, List<PausableTopic> topics) {
+        this.consumer = consumer;
+        topics.forEach(topic -> pausedPartitionsByTopic.put(topic, new HashSet<>()));
+    }
+
+    @Override
+    public ConsumerRecords<byte[], byte[]> poll(Duration timeout) {
+        updatePausedTopics();
+        return consumer.poll(timeout);
+    }
+
+    @Override
+    @Deprecated
+    public ConsumerRecords<byte[], byte[]> poll(long timeout) {
+        updatePausedTopics();
+        return consumer.poll(timeout);
+    }
+
+    @Override
+    public void resume(Collection<TopicPartition> partitions) {
+        consumer.resume(partitions.stream()
+                .filter(partition -> pausedPartitionsByTopic.values().stream().noneMatch(paused -> paused.contains(partition)))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        consumer.commitSync(withSkippedPositions(offsets));
+    }
+
+    @Override
+    public void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets, Duration timeout) {
+        consumer.commitSync(withSkippedPositions(offsets), timeout);
+    }
+
+    @Override
+    public void commitAsync(Map<TopicPartition, OffsetAndMetadata> offsets, OffsetCommitCallback callback) {
+        consumer.commitAsync(withSkippedPositions(offsets), callback);
+    }
+
+    private void updatePausedTopics() {
+        // a partition which is no longer assigned is committed by its new owner
+        skippedPositions.keySet().retainAll(consumer.assignment());
+
+        pausedPartitionsByTopic.forEach((topic, partitions) -> {
+            if (topic.getPauseCondition().getAsBoolean()) {
+                pauseTopic(topic, partitions);
+            } else if (!partitions.isEmpty()) {
+                resumeTopic(topic, partitions);
+            }
+        });
+    }
+
+    private void pauseTopic(PausableTopic topic, Set<TopicPartition> pausedPartitions) {
+        // a rebalance resumes all (re)assigned partitions, so they're paused again on the next poll
+        Set<TopicPartition> assignment = consumer.assignment();
+        Set<TopicPartition> paused = consumer.paused();
+        pausedPartitions.retainAll(assignment);
+
+        List<TopicPartition> partitions = assignment.stream()
+                .filter(partition -> topic.getTopic().equals(partition.topic()))
+                .filter(partition -> !pausedPartitions.contains(partition) || !paused.contains(partition))
+                .collect(Collectors.toList());
+
+        if (!partitions.isEmpty()) {
+            LOGGER.info("Pausing consumption of partitions {}", partitions);
+            consumer.pause(partitions);
+            pausedPartitions.addAll(partitions);
+        }
+    }
+
+    private void resumeTopic(PausableTopic topic, Set<TopicPartition> pausedPartitions) {
+        pausedPartitions.retainAll(consumer.assignment());
+
+        LOGGER.info("Resuming consumption of partitions {} ({})", pausedPartitions, topic.getResumeMode());
+        if (topic.getResumeMode() == ResumeMode.SKIP && !pausedPartitions.isEmpty()) {
+            skipToEnd(pausedPartitions);
+        }
+        consumer.resume(pausedPartitions);
+        pausedPartitions.clear();
+    }
+
+    private void skipToEnd(Set<TopicPartition> partitions) {
+        consumer.seekToEnd(partitions);
+
+        Map<TopicPartition, OffsetAndMetadata> positions = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            long position = consumer.position(partition);
+            skippedPositions.put(partition, position);
+            positions.put(partition, new OffsetAndMetadata(position));
+        }
+
+        try {
+            consumer.commitSync(positions);
+        } catch (CommitFailedException | RetriableException ex) {
+            // the skipped positions are still committed along with the next offsets committed by Kafka Streams
+            LOGGER.warn("Could not commit the skipped positions {}", positions, ex);
+        }
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> withSkippedPositions(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        if (skippedPositions.isEmpty()) {
+            return offsets;
+        }
+
+        Map<TopicPartition, OffsetAndMetadata> result = new HashMap<>(offsets);
+        skippedPositions.entrySet().removeIf(skipped -> {
+            OffsetAndMetadata offset = offsets.get(skipped.getKey());
+            if (offset == null) {
+                return false;
+            } else if (offset.offset() < skipped.getValue()) {
+                result.put(skipped.getKey(), new OffsetAndMetadata(skipped.getValue(), offset.metadata()));
+                return false;
+            }
+            // a record after the skipped position has been processed, so the skipped position is no longer needed
+            return true;
+        });
+        return result;
+    }
+
+    @Override
+    public Set<TopicPartition> assignment() {
+        return consumer.assignment();
+    }
+
+    @Override
+    public Set<String> subscription() {
+        return consumer.subscription();
+    }
+
+    @Override
+    public void subscribe(Collection<String> topics) {
+        consumer.subscribe(topics);
+    }
+
+    @Override
+    public void subscribe(Collection<String> topics, ConsumerRebalanceListener callback) {
+        consumer.subscribe(topics, callback);
+    }
+
+    @Override
+    public void assign(Collection<TopicPartition> partitions) {
+        consumer.assign(partitions);
+    }
+
+    @Override
+    public void subscribe(Pattern pattern, ConsumerRebalanceListener callback) {
+        consumer.subscribe(pattern, callback);
+    }
+
+    @Override
+    public void subscribe(Pattern pattern) {
+        consumer.subscribe(pattern);
+    }
+
+    @Override
+    public void unsubscribe() {
+        consumer.unsubscribe();
+    }
+
+    @Override
+    public void commitSync() {
+        consumer.commitSync();
+    }
+
+    @Override
+    public void commitSync(Duration timeout) {
+        consumer.commitSync(timeout);
+    }
+
+    @Override
+    public void commitAsync() {
+        consumer.commitAsync();
+    }
+
+    @Override
+    public void commitAsync(OffsetCommitCallback callback) {
+        consumer.commitAsync(callback);
+    }
+
+    @Override
+    public void seek(TopicPartition partition, long offset) {
+        consumer.seek(partition, offset);
+    }
+
+    @Override
+    public void seek(TopicPartition partition, OffsetAndMetadata offsetAndMetadata) {
+        consumer.seek(partition, offsetAndMetadata);
+    }
+
+    @Override
+    public void seekToBeginning(Collection<TopicPartition> partitions) {
+        consumer.seekToBeginning(partitions);
+    }
+
+    @Override
+    public void seekToEnd(Collection<TopicPartition> partitions) {
+        consumer.seekToEnd(partitions);
+    }
+
+    @Override
+    public long position(TopicPartition partition) {
+        return consumer.position(partition);
+    }
+
+    @Override
+    public long position(TopicPartition partition, Duration timeout) {
+        return consumer.position(partition, timeout);
+    }
+
+    @Override
+    public OffsetAndMetadata committed(TopicPartition partition) {
+        return consumer.committed(partition);
+    }
+
+    @Override
+    public OffsetAndMetadata committed(TopicPartition partition, Duration timeout) {
+        return consumer.committed(partition, timeout);
+    }
+
+    @Override
+    public Map<MetricName, ? extends Metric> metrics() {
+        return consumer.metrics();
+    }
+
+    @Override
+    public List<PartitionInfo> partitionsFor(String topic) {
+        return consumer.partitionsFor(topic);
+    }
+
+    @Override
+    public List<PartitionInfo> partitionsFor(String topic, Duration timeout) {
+        return consumer.partitionsFor(topic, timeout);
+    }
+
+    @Override
+    public Map<String, List<PartitionInfo>> listTopics() {
+        return consumer.listTopics();
+    }
+
+    @Override
+    public Map<String, List<PartitionInfo>> listTopics(Duration timeout) {
+        return consumer.listTopics(timeout);
+    }
+
+    @Override
+    public Set<TopicPartition> paused() {
+        return consumer.paused();
+    }
+
+    @Override
+    public void pause(Collection<TopicPartition> partitions) {
+        consumer.pause(partitions);
+    }
+
+    @Override
+    public Map<TopicPartition, OffsetAndTimestamp> offsetsForTimes(Map<TopicPartition, Long> timestampsToSearch) {
+        return consumer.offsetsForTimes(timestampsToSearch);
+    }
+
+    @Override
+    public Map<TopicPartition, OffsetAndTimestamp> offsetsForTimes(Map<TopicPartition, Long> timestampsToSearch, Duration timeout) {
+        return consumer.offsetsForTimes(timestampsToSearch, timeout);
+    }
+
+    @Override
+    public Map<TopicPartition, Long> beginningOffsets(Collection<TopicPartition> partitions) {
+        return consumer.beginningOffsets(partitions);
+    }
+
+    @Override
+    public Map<TopicPartition, Long> beginningOffsets(Collection<TopicPartition> partitions, Duration timeout) {
+        return consumer.beginningOffsets(partitions, timeout);
+    }
+
+    @Override
+    public Map<TopicPartition, Long> endOffsets(Collection<TopicPartition> partitions) {
+        return consumer.endOffsets(partitions);
+    }
+
+    @Override
+    public Map<TopicPartition, Long> endOffsets(Collection<TopicPartition> partitions, Duration timeout) {
+        return consumer.endOffsets(partitions, timeout);
+    }
+
+    @Override
+    public void close() {
+        consumer.close();
+    }
+
+    @Override
+    @Deprecated
+    public void close(long timeout, TimeUnit unit) {
+        consumer.close(timeout, unit);
+    }
+
+    @Override
+    public void close(Duration timeout) {
+        consumer.close(timeout);
+    }
+
+    @Override
+    public void wakeup() {
+        consumer.wakeup();
+    }
+}
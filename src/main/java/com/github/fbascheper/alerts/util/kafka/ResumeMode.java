@@ -0,0 +1,22 @@
+package com.github.fbascheper.alerts.util.kafka;
+
+/**
+ * How a paused topic is consumed again when it's resumed.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public enum ResumeMode {
+
+    /**
+     * Continue at the committed position, i.e. process all records published while the topic was paused.
+     */
+    CATCH_UP,
+
+    /**
+     * Skip to the end of the topic, i.e. discard all records published while the topic was paused.
+     * The skipped position is committed at once, so the skipped records aren't read after a restart either.
+     */
+    SKIP
+
+}
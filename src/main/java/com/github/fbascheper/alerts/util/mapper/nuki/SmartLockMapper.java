@@ -1,17 +1,25 @@
 package com.github.fbascheper.alerts.util.mapper.nuki;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.github.fbascheper.alerts.model.avro.SerializableSmartLock;
 import com.github.fbascheper.alerts.model.nuki.LockStates;
 import com.github.fbascheper.alerts.model.nuki.NukiRestApiResponse;
-import com.github.fbascheper.alerts.model.nuki.SmartLock;
 import com.github.fbascheper.alerts.model.state.BurglarAlertState;
+import com.github.fbascheper.alerts.util.common.DateUtils;
 import org.apache.kafka.streams.KeyValue;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.slf4j.LoggerFactory.getLogger;
@@ -26,41 +34,143 @@ public final class SmartLockMapper {
 
     private static final Logger LOGGER = getLogger(SmartLockMapper.class);
 
+    /**
+     * Key of the combined state of the alerting system of all accounts.
+     */
     public static final String ALERT_STATE = "state";
 
+    /**
+     * Factory of the JSON parsers, which is thread-safe and shared by all mapping calls.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private SmartLockMapper() {
         // prevent instantiation
     }
 
     /**
      * Map the JSON response from the Nuki Web API to a domain object.
+     * <p>
+     * The response is read with the streaming API of Jackson, using a shared {@link JsonFactory}, and only the
+     * fields used by the alerting logic are retained. Any text preceding the array of smart-locks is skipped,
+     * and a single smart-lock that is not wrapped in an array is accepted as well.
+     * </p>
      *
      * @param value JSON response
-     * @return domain object holding the result of the Nuki Web API
+     * @return domain object holding the result of the Nuki Web API, or {@code null} if the response could not be parsed
      */
     public static NukiRestApiResponse toNukiResponse(String value) {
         NukiRestApiResponse result = null;
 
-        int startIndex = value.indexOf('[');
-        int endIndex = value.lastIndexOf(']');
-        String json = (startIndex >= 0 && endIndex <= value.length()) ? value.substring(startIndex, endIndex + 1) : value;
-
-        String convertedJson = "{\"locks\": " + json + "}";
+        try (Reader reader = new StringReader(value)) {
+            int startIndex = value.indexOf('[');
+            if (startIndex > 0) {
+                reader.skip(startIndex);
+            }
 
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
-            objectMapper.configure(DeserializationFeature.FAIL_ON_IGNORED_PROPERTIES, false);
-            result = objectMapper.readValue(convertedJson, NukiRestApiResponse.class);
-            result.parseDates();
+            try (JsonParser parser = JSON_FACTORY.createParser(reader)) {
+                result = new NukiRestApiResponse(readSmartLocks(parser));
+            }
 
         } catch (IOException ex) {
-            LOGGER.error("Mapping error for JSON = " + convertedJson, ex);
+            LOGGER.error("Mapping error for JSON = " + value, ex);
+        }
+
+        return result;
+    }
+
+    private static List<SerializableSmartLock> readSmartLocks(JsonParser parser) throws IOException {
+        List<SerializableSmartLock> result = new ArrayList<>();
+
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            result.add(readSmartLock(parser));
+
+        } else if (token == JsonToken.START_ARRAY) {
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                result.add(readSmartLock(parser));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Expected a smart-lock object, found " + token);
+            }
+
+        } else {
+            throw new JsonParseException(parser, "Expected an array of smart-locks, found " + token);
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the fields of a single smart-lock, with the parser positioned at the start of its object.
+     * <p>
+     * Numbers and flags which are missing or {@code null} in the response are 0 and {@code false}, as they were
+     * when the response was bound to Java objects.
+     * </p>
+     */
+    private static SerializableSmartLock readSmartLock(JsonParser parser) throws IOException {
+        SerializableSmartLock result = new SerializableSmartLock();
+        result.setSmartlockId(0L);
+        result.setAccountId(0L);
+        result.setState(0L);
+        result.setTrigger(0L);
+        result.setBatteryCritical(false);
+        result.setUpdateEpochSeconds(0L);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "smartlockId":
+                    result.setSmartlockId(parser.getValueAsLong());
+                    break;
+                case "accountId":
+                    result.setAccountId(parser.getValueAsLong());
+                    break;
+                case "name":
+                    result.setName(parser.getValueAsString());
+                    break;
+                case "state":
+                    if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+                        readSmartLockState(parser, result);
+                    }
+                    break;
+                case "updateDate":
+                    if (parser.getCurrentToken() != JsonToken.VALUE_NULL) {
+                        ZonedDateTime updateDate = DateUtils.toZonedDateTime(parser.getValueAsString(), DateUtils.ZONE_ID_EUROPE_AMSTERDAM);
+                        result.setUpdateEpochSeconds(updateDate.toEpochSecond());
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
         }
 
         return result;
     }
 
+    private static void readSmartLockState(JsonParser parser, SerializableSmartLock result) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "state":
+                    result.setState(parser.getValueAsLong());
+                    break;
+                case "trigger":
+                    result.setTrigger(parser.getValueAsLong());
+                    break;
+                case "batteryCritical":
+                    result.setBatteryCritical(parser.getValueAsBoolean());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
     /**
      * Decode the response of the Nuki Web API to individual serializable SmartLock-related key-value pairs.
      *
@@ -73,31 +183,54 @@ public final class SmartLockMapper {
         return value.getLocks()
                 .stream()
                 .map(smartLock -> {
-                    SerializableSmartLock newValue = smartLock.toSerializableSmartLock();
-                    String newKey = String.format("%d/%d:%d", smartLock.getAccountId(), smartLock.getSmartlockId(), newValue.getUpdateEpochSeconds());
-                    return KeyValue.pair(newKey, newValue);
+                    String newKey = smartLock.getAccountId() + "/" + smartLock.getSmartlockId() + ":" + smartLock.getUpdateEpochSeconds();
+                    return KeyValue.pair(newKey, smartLock);
                 }).collect(Collectors.toList());
     }
 
     /**
-     * Map the result of the Nuki Web API to a the state of the alerting system (enabled / disabled) for a accountId.
+     * Map the result of the Nuki Web API to the state of the alerting system (enabled / disabled) for each accountId.
      * <p>
      * The system is disabled for a given account if any lock of that account is unlocked.
      * </p>
      *
      * @param key           current key value, is discarded because it's not set by the REST connector.
      * @param restApiResult domain object holding the result of the Nuki Web API
-     * @return list of {@link SmartLock}-instances
+     * @return list of key-value pairs holding the state of the alerting system, keyed by accountId
      * @see BurglarAlertState for all integer values and the corresponding state.
      */
-    public static KeyValue<String, Integer> alertingEnabledMapper(String key, NukiRestApiResponse restApiResult) {
-        boolean disabled = restApiResult.getLocks()
-                .stream()
-                .map(SmartLock::toSerializableSmartLock)
-                .anyMatch(lock -> LockStates.UNLOCKED.equals(LockStates.of(lock.getState())));
-        KeyValue<String, Integer> result = KeyValue.pair(ALERT_STATE, disabled ? BurglarAlertState.SEND_MESSAGES_DISABLED.getValue() : BurglarAlertState.SEND_MESSAGES_ENABLED.getValue());
+    public static List<KeyValue<String, Integer>> alertingEnabledMapper(String key, NukiRestApiResponse restApiResult) {
+        Map<Long, Boolean> disabledAccounts = new LinkedHashMap<>();
+        for (SerializableSmartLock lock : restApiResult.getLocks()) {
+            boolean unlocked = LockStates.UNLOCKED.equals(LockStates.of(lock.getState()));
+            disabledAccounts.merge(lock.getAccountId(), unlocked, Boolean::logicalOr);
+        }
+
+        List<KeyValue<String, Integer>> result = new ArrayList<>(disabledAccounts.size());
+        disabledAccounts.forEach((accountId, disabled) -> result.add(KeyValue.pair(String.valueOf(accountId),
+                disabled ? BurglarAlertState.SEND_MESSAGES_DISABLED.getValue() : BurglarAlertState.SEND_MESSAGES_ENABLED.getValue())));
 
         return result;
     }
 
+    /**
+     * Map the result of the Nuki Web API to the combined state of the alerting system (enabled / disabled) of all
+     * accounts, keyed by {@value #ALERT_STATE}.
+     * <p>
+     * The system is disabled if any lock is unlocked.
+     * </p>
+     *
+     * @param key           current key value, is discarded because it's not set by the REST connector.
+     * @param restApiResult domain object holding the result of the Nuki Web API
+     * @return key-value pair holding the combined state of the alerting system
+     * @see BurglarAlertState for all integer values and the corresponding state.
+     */
+    public static KeyValue<String, Integer> combinedAlertingEnabledMapper(String key, NukiRestApiResponse restApiResult) {
+        boolean disabled = restApiResult.getLocks().stream()
+                .anyMatch(lock -> LockStates.UNLOCKED.equals(LockStates.of(lock.getState())));
+
+        return KeyValue.pair(ALERT_STATE,
+                disabled ? BurglarAlertState.SEND_MESSAGES_DISABLED.getValue() : BurglarAlertState.SEND_MESSAGES_ENABLED.getValue());
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.github.fbascheper.alerts.util.mapper.telegram;
 
 import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.util.image.PhotoRenderer;
 import com.github.fbascheper.kafka.connect.telegram.*;
 
 /**
@@ -41,9 +42,21 @@ public final class TelegramMessageMapper {
      * @return a Telegram message
      */
     public static TgMessage photoMessage(SerializableImage image, String caption) {
+        return photoMessage(image, caption, PhotoRenderer.ORIGINAL);
+    }
+
+    /**
+     * Build a Telegram message from an image, rendered as a (smaller) photo, and a caption (text).
+     *
+     * @param image    the image to include in the message
+     * @param caption  the caption of the image
+     * @param renderer the renderer of the photo
+     * @return a Telegram message
+     */
+    public static TgMessage photoMessage(SerializableImage image, String caption, PhotoRenderer renderer) {
         TgAttachment attachment = new TgAttachment();
         attachment.setName(image.getName());
-        attachment.setContents(image.getImageData());
+        attachment.setContents(renderer.render(image.getImageData()));
 
         TgPhotoMessage photoMessage = new TgPhotoMessage();
         photoMessage.setCaption(caption);
@@ -0,0 +1,67 @@
+package com.github.fbascheper.alerts.util.metrics;
+
+import org.apache.kafka.common.metrics.Sensor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The sensors of a single stage of the burglar alerts topology.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class StageMetrics {
+
+    /**
+     * Stage metrics which don't record anything, e.g. for use in tests and benchmarks.
+     */
+    public static final StageMetrics NONE = new StageMetrics(null, null, null);
+
+    private final Sensor latency;
+    private final Sensor passed;
+    private final Sensor dropped;
+
+    StageMetrics(Sensor latency, Sensor passed, Sensor dropped) {
+        this.latency = latency;
+        this.passed = passed;
+        this.dropped = dropped;
+    }
+
+    /**
+     * Record the latency of an execution of this stage.
+     *
+     * @param startNanos the value of {@link System#nanoTime()} when the execution started
+     */
+    public void recordLatency(long startNanos) {
+        if (latency != null) {
+            latency.record((System.nanoTime() - startNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Record records passed on by this stage.
+     *
+     * @param count the number of records
+     */
+    public void recordPassed(int count) {
+        if (passed != null) {
+            passed.record(count);
+        }
+    }
+
+    /**
+     * Record a record passed on by this stage.
+     */
+    public void recordPassed() {
+        recordPassed(1);
+    }
+
+    /**
+     * Record a record dropped by this stage.
+     */
+    public void recordDropped() {
+        if (dropped != null) {
+            dropped.record(1);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.fbascheper.alerts.util.metrics;
+
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Gauge;
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Meter;
+import org.apache.kafka.common.metrics.stats.Percentile;
+import org.apache.kafka.common.metrics.stats.Percentiles;
+import org.apache.kafka.common.utils.Time;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Metrics of the stages of the burglar alerts topology, which are exposed through JMX next to
+ * the standard Kafka Streams metrics, i.e. as {@code kafka.streams:type=burglar-alerts-stage-metrics,...}.
+ * <p>
+ * Each stage has a latency histogram (average, max and the 50th, 95th and 99th percentile in ms)
+ * and the rate and total of the records passed and dropped by that stage.
+ * The version of the TensorFlow model which is used, and the latencies measured when warming up inference
+ * at startup, are exposed as well.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class TopologyMetrics implements AutoCloseable {
+
+    static final String JMX_PREFIX = "kafka.streams";
+    static final String GROUP = "burglar-alerts-stage-metrics";
+
+    // latency histograms use linear buckets up to MAX_LATENCY_MS
+    private static final int HISTOGRAM_SIZE_IN_BYTES = 4 * 2_000;
+    private static final double MAX_LATENCY_MS = 10_000d;
+
+    private final Metrics metrics;
+    private final Map<String, String> tags;
+    private final Map<TopologyStage, StageMetrics> stages = new EnumMap<>(TopologyStage.class);
+    private final AtomicInteger inferenceQueueDepth = new AtomicInteger();
+    private final AtomicReference<String> modelVersion = new AtomicReference<>();
+    private volatile double coldInferenceLatencyMs = Double.NaN;
+    private volatile double warmInferenceLatencyMs = Double.NaN;
+
+    /**
+     * Create the metrics of the burglar alerts topology.
+     *
+     * @param clientId the client id of the Kafka Streams application
+     */
+    public TopologyMetrics(String clientId) {
+        this.metrics = new Metrics(new MetricConfig(), Collections.singletonList(new JmxReporter(JMX_PREFIX)), Time.SYSTEM);
+        this.tags = Collections.singletonMap("client-id", clientId);
+
+        for (TopologyStage stage : TopologyStage.values()) {
+            stages.put(stage, createStageMetrics(stage));
+        }
+
+        metrics.addMetric(metricName("inference-queue-depth", "The number of images waiting for (or in) inference", tags),
+                (Gauge<Integer>) (config, now) -> inferenceQueueDepth.get());
+        metrics.addMetric(metricName("model-version", "The version of the TensorFlow model which is used", tags),
+                (Gauge<String>) (config, now) -> modelVersion.get());
+        metrics.addMetric(metricName("warm-up-cold-latency-ms", "The latency of the first inference at startup in ms", tags),
+                (config, now) -> coldInferenceLatencyMs);
+        metrics.addMetric(metricName("warm-up-warm-latency-ms", "The average latency of the other inferences at startup in ms", tags),
+                (config, now) -> warmInferenceLatencyMs);
+    }
+
+    /**
+     * @param stage a stage of the topology
+     * @return the metrics of the stage
+     */
+    public StageMetrics stage(TopologyStage stage) {
+        return stages.get(stage);
+    }
+
+    /**
+     * @return the number of images waiting for (or in) inference, which should be updated by the inference stages.
+     */
+    public AtomicInteger inferenceQueueDepth() {
+        return inferenceQueueDepth;
+    }
+
+    /**
+     * @return the version of the TensorFlow model which is used, which should be updated when a new version is used.
+     */
+    public AtomicReference<String> modelVersion() {
+        return modelVersion;
+    }
+
+    /**
+     * Record the latencies measured when warming up inference.
+     *
+     * @param coldLatencyMs the latency of the first inference in ms
+     * @param warmLatencyMs the average latency of the other inferences in ms
+     */
+    public void recordWarmUp(double coldLatencyMs, double warmLatencyMs) {
+        this.coldInferenceLatencyMs = coldLatencyMs;
+        this.warmInferenceLatencyMs = warmLatencyMs;
+    }
+
+    private StageMetrics createStageMetrics(TopologyStage stage) {
+        Map<String, String> stageTags = new HashMap<>(tags);
+        stageTags.put("stage", stage.getName());
+
+        Sensor latency = metrics.sensor(stage.getName() + "-latency");
+        latency.add(metricName("latency-avg", "The average latency in ms", stageTags), new Avg());
+        latency.add(metricName("latency-max", "The maximum latency in ms", stageTags), new Max());
+        latency.add(new Percentiles(HISTOGRAM_SIZE_IN_BYTES, MAX_LATENCY_MS, Percentiles.BucketSizing.LINEAR,
+                new Percentile(metricName("latency-p50", "The median latency in ms", stageTags), 50),
+                new Percentile(metricName("latency-p95", "The 95th percentile latency in ms", stageTags), 95),
+                new Percentile(metricName("latency-p99", "The 99th percentile latency in ms", stageTags), 99)));
+
+        Sensor passed = metrics.sensor(stage.getName() + "-passed");
+        passed.add(new Meter(metricName("records-passed-rate", "The number of records passed per second", stageTags),
+                metricName("records-passed-total", "The total number of records passed", stageTags)));
+
+        Sensor dropped = metrics.sensor(stage.getName() + "-dropped");
+        dropped.add(new Meter(metricName("records-dropped-rate", "The number of records dropped per second", stageTags),
+                metricName("records-dropped-total", "The total number of records dropped", stageTags)));
+
+        return new StageMetrics(latency, passed, dropped);
+    }
+
+    private MetricName metricName(String name, String description, Map<String, String> tags) {
+        return metrics.metricName(name, GROUP, description, tags);
+    }
+
+    @Override
+    public void close() {
+        metrics.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.fbascheper.alerts.util.metrics;
+
+/**
+ * Enumeration of the instrumented stages of the burglar alerts topology.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public enum TopologyStage {
+
+    /**
+     * Join of camera images with the state of the alerting system, which drops images when alerting is disabled.
+     */
+    ALERT_STATE_JOIN("alert-state-join"),
+
+    /**
+     * Detection of motion between subsequent images of the same camera, which drops images without motion.
+     */
+    MOTION_DETECTION("motion-detection"),
+
+    /**
+     * Wrapping of camera images into Avro objects.
+     */
+    AVRO_WRAP("avro-wrap"),
+
+    /**
+     * Lookup of the classification of identical images, which have been classified before.
+     * The records dropped by this stage are the cache hits, the records passed are the cache misses.
+     */
+    INFERENCE_CACHE("inference-cache"),
+
+    /**
+     * Perceptual hashing of images, to skip the classification of nearly identical images.
+     * The records dropped by this stage are the images for which the previous classification is reused.
+     */
+    DEDUPLICATION("deduplication"),
+
+    /**
+     * Screening of images by a small, low-resolution model, before they are classified by the full model.
+     * The records dropped by this stage are the images decided by the screening model, the records passed are
+     * the images about which it is uncertain.
+     */
+    SCREENING("screening"),
+
+    /**
+     * Decoding, resizing and normalization of JPEG images, when it's executed separately from the model.
+     */
+    IMAGE_NORMALIZATION("image-normalization"),
+
+    /**
+     * Classification of images by the TensorFlow model.
+     */
+    INFERENCE("inference"),
+
+    /**
+     * Coalescing of the classified images of a camera into bursts, which are sent as a single Telegram message.
+     * The records dropped by this stage are the images absorbed into a burst, the records passed are the messages.
+     */
+    ALERT_COALESCING("alert-coalescing"),
+
+    /**
+     * Mapping of classified images to Telegram messages.
+     */
+    TELEGRAM_MAPPING("telegram-mapping"),
+
+    /**
+     * Loading and warming up a new version of the TensorFlow model, in the background.
+     * The records passed and dropped by this stage are the versions which are swapped in and rejected.
+     */
+    MODEL_LOADING("model-loading");
+
+    private final String name;
+
+    TopologyStage(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of this stage, as used in the metric tags.
+     */
+    public String getName() {
+        return name;
+    }
+
+}
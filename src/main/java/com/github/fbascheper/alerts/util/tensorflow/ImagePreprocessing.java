@@ -0,0 +1,22 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+/**
+ * Enumeration of the ways in which images are preprocessed (decoded, resized and normalized) for the TensorFlow model.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public enum ImagePreprocessing {
+
+    /**
+     * Preprocess images using TensorFlow operations, fused with the model, which decode the full image.
+     */
+    GRAPH,
+
+    /**
+     * Preprocess images in Java, decoding only about as many pixels as needed for the model
+     * (see {@link com.github.fbascheper.alerts.util.image.ImageNormalizer}).
+     */
+    JAVA
+
+}
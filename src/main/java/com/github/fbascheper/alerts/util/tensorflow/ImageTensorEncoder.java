@@ -0,0 +1,72 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import org.tensorflow.Tensor;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Encoder of images as scalar string tensors, which are fed to the TensorFlow model.
+ * <p>
+ * The tensor is created from the image buffer itself, whether it's a heap, direct or memory-mapped buffer,
+ * using a direct buffer holding the string tensor encoding (an offset, followed by the varint encoded length and
+ * the bytes of the string), which is reused for all images. Unlike {@code Tensors.create(byte[])}, this doesn't
+ * require an array holding exactly the image, and doesn't allocate anything on the heap in proportion to its size.
+ * </p>
+ * <p>
+ * An encoder is not thread-safe: each {@link TensorFlowInferenceEngine} has its own encoder.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class ImageTensorEncoder {
+
+    private static final long[] SCALAR = new long[0];
+    private static final int INITIAL_CAPACITY = 1 << 20;
+
+    private ByteBuffer buffer = allocate(INITIAL_CAPACITY);
+
+    /**
+     * Encode an image as a scalar string tensor, which must be closed by the caller.
+     *
+     * @param imageData the encoded (e.g. JPEG) image, which is not modified
+     * @return the tensor holding the image
+     */
+    public Tensor<String> encode(ByteBuffer imageData) {
+        final int length = imageData.remaining();
+        final int required = Long.BYTES + varintSize(length) + length;
+        if (buffer.capacity() < required) {
+            buffer = allocate(Math.max(required, 2 * buffer.capacity()));
+        }
+
+        buffer.clear();
+        // offset of the (only) string, relative to the start of the string data
+        buffer.putLong(0L);
+        putVarint(buffer, length);
+        buffer.put(imageData.duplicate());
+        buffer.flip();
+
+        return Tensor.create(String.class, SCALAR, buffer);
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarint(ByteBuffer target, int value) {
+        while ((value & ~0x7f) != 0) {
+            target.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.github.fbascheper.alerts.model.avro.CachedClassification;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache of the classifications of images, identified by the SHA-256 hash of their contents.
+ * <p>
+ * The least recently used classification is evicted when the cache is full. A classification is only returned
+ * while the model which produced it is still in use, so classifications by an older model are never reused.
+ * </p>
+ * <p>
+ * A cache is thread-safe, so it can be shared by all stream tasks.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class InferenceCache {
+
+    private final Map<String, CachedClassification> entries;
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxEntries the maximum number of classifications in the cache
+     */
+    public InferenceCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The maximum number of entries must be positive");
+        }
+
+        this.entries = new LinkedHashMap<String, CachedClassification>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedClassification> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Look up the classification of an image.
+     *
+     * @param contentHash the SHA-256 hash of the image data
+     * @param isCurrent   tells whether a classification was produced by a model which is still in use
+     * @return the classification of the image by a model which is still in use, or {@code null} if it isn't cached
+     */
+    public synchronized CachedClassification get(String contentHash, Predicate<CachedClassification> isCurrent) {
+        CachedClassification result = entries.get(contentHash);
+        return result != null && isCurrent.test(result) ? result : null;
+    }
+
+    /**
+     * Add the classification of an image, replacing any previous classification of the same image.
+     *
+     * @param contentHash    the SHA-256 hash of the image data
+     * @param classification the classification
+     */
+    public synchronized void put(String contentHash, CachedClassification classification) {
+        entries.put(contentHash, classification);
+    }
+
+    /**
+     * @return the number of classifications in the cache
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
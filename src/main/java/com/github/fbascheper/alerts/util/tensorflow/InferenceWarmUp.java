@@ -0,0 +1,62 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import org.slf4j.Logger;
+
+import java.nio.ByteBuffer;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Warm-up of TensorFlow inference at startup, so the first camera image isn't classified with a cold JVM and
+ * TensorFlow runtime (loading of the native library, JIT compilation, memory allocation, etc.).
+ * <p>
+ * A synthetic image of the size of a camera image is classified a number of times, using the same path as
+ * the classification of camera images. The latency of the first (cold) classification, which includes loading
+ * the model, and the average latency of the other (warm) classifications are logged and exposed as metrics.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class InferenceWarmUp {
+
+    private static final Logger LOGGER = getLogger(InferenceWarmUp.class);
+
+    // size of the synthetic image, which is a typical camera resolution
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+
+    private InferenceWarmUp() {
+        // prevent instantiation
+    }
+
+    /**
+     * Warm up TensorFlow inference.
+     *
+     * @param modelManager the manager of the model
+     * @param iterations   the number of classifications (at least 1)
+     * @param metrics      metrics of the burglar alerts topology
+     */
+    public static void run(TensorFlowModelManager modelManager, int iterations, TopologyMetrics metrics) {
+        SerializableImage image = new SerializableImage("warm-up.jpg", ByteBuffer.wrap(SyntheticImages.jpeg(WIDTH, HEIGHT)), null, null, null);
+
+        try (TensorFlowEngineHolder engineHolder = new TensorFlowEngineHolder(modelManager, StageMetrics.NONE)) {
+            long start = System.nanoTime();
+            TensorFlowMatcher.matchImage(engineHolder, image);
+            double coldLatencyMs = (System.nanoTime() - start) / 1_000_000d;
+
+            start = System.nanoTime();
+            for (int i = 1; i < iterations; i++) {
+                TensorFlowMatcher.matchImage(engineHolder, image);
+            }
+            double warmLatencyMs = iterations > 1 ? (System.nanoTime() - start) / 1_000_000d / (iterations - 1) : Double.NaN;
+
+            metrics.recordWarmUp(coldLatencyMs, warmLatencyMs);
+            LOGGER.info("Warmed up TensorFlow inference in {} runs: cold latency {} ms, warm latency {} ms",
+                    iterations, String.format("%.1f", coldLatencyMs), String.format("%.1f", warmLatencyMs));
+        }
+    }
+}
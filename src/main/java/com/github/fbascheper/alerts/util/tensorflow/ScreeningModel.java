@@ -0,0 +1,90 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.github.fbascheper.alerts.model.tensorflow.Classification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A small, low-resolution TensorFlow model, which screens the images before they are classified by the full model.
+ * <p>
+ * Most camera images are obviously empty, and are decided by the screening model at a fraction of the cost of
+ * the full model. Only the images whose {@link Classification#BURGLAR_ALERT burglar alert} probability falls in the
+ * uncertainty band {@code [minAlertProbability, maxAlertProbability]} are classified by the full model as well.
+ * Images above the band are decided to be burglar alerts by the screening model, so a maximum of {@code 1} lets the
+ * full model confirm all possible burglar alerts.
+ * </p>
+ * <p>
+ * The screening model must have been trained with the same labels as the full model, and its input may have any
+ * (square) resolution. Its input and output nodes need not have the names of those of the full model: when they don't,
+ * the only placeholder is used as the input, and the only softmax as the output. A screening model whose input or
+ * output can't be determined is rejected when it is {@link #read(Path, float, float) read}, so the application fails
+ * to start rather than each stream task.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class ScreeningModel {
+
+    private final TensorFlowModel model;
+    private final float minAlertProbability;
+    private final float maxAlertProbability;
+
+    /**
+     * Create a new screening model.
+     *
+     * @param model               the screening model
+     * @param minAlertProbability the burglar alert probability below which an image is decided not to be a burglar alert
+     * @param maxAlertProbability the burglar alert probability above which an image is decided to be a burglar alert
+     */
+    public ScreeningModel(TensorFlowModel model, float minAlertProbability, float maxAlertProbability) {
+        if (minAlertProbability < 0f || minAlertProbability > maxAlertProbability || maxAlertProbability > 1f) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid uncertainty band [%s, %s] of screening model", minAlertProbability, maxAlertProbability));
+        }
+        this.model = model;
+        this.minAlertProbability = minAlertProbability;
+        this.maxAlertProbability = maxAlertProbability;
+    }
+
+    /**
+     * Read a screening model from a file.
+     *
+     * @param modelFile           the file holding the graph definition of the screening model
+     * @param minAlertProbability the burglar alert probability below which an image is decided not to be a burglar alert
+     * @param maxAlertProbability the burglar alert probability above which an image is decided to be a burglar alert
+     * @return the screening model
+     */
+    public static ScreeningModel read(Path modelFile, float minAlertProbability, float maxAlertProbability) {
+        try {
+            return new ScreeningModel(TensorFlowModel.of(Files.readAllBytes(modelFile)), minAlertProbability, maxAlertProbability);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read TensorFlow screening model file " + modelFile, ex);
+        }
+    }
+
+    /**
+     * @return the screening model
+     */
+    public TensorFlowModel getModel() {
+        return model;
+    }
+
+    /**
+     * @param labelProbabilities the probabilities for each label of the screening model
+     * @return {@code true} if the image must be classified by the full model as well
+     */
+    boolean isUncertain(float[] labelProbabilities) {
+        float alertProbability = labelProbabilities[Classification.BURGLAR_ALERT.getIndex()];
+        return alertProbability >= minAlertProbability && alertProbability <= maxAlertProbability;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ScreeningModel{version=%s, inputSize=%d, uncertain=[%s, %s]}",
+                model.getVersion(), model.getInputSize(), minAlertProbability, maxAlertProbability);
+    }
+}
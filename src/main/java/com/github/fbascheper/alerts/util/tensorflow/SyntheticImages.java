@@ -0,0 +1,45 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Synthetic JPEG images, used to warm up TensorFlow before the first camera image is classified.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+final class SyntheticImages {
+
+    private SyntheticImages() {
+        // prevent instantiation
+    }
+
+    /**
+     * Create a JPEG encoded image with a diagonal gray gradient.
+     *
+     * @param width  width of the image
+     * @param height height of the image
+     * @return the JPEG encoded image
+     */
+    static byte[] jpeg(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int gray = (x + y) * 255 / (width + height);
+                image.setRGB(x, y, (gray << 16) | (gray << 8) | gray);
+            }
+        }
+
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", output);
+            return output.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create synthetic image", ex);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+
+/**
+ * Holder of the {@link TensorFlowInferenceEngine} of a single thread, which swaps the engine
+ * for one with the current version of the model of a {@link TensorFlowModelManager}.
+ * <p>
+ * A holder is registered with its manager until it is closed. When the manager loads a new version of the model, it
+ * {@link #prepare(TensorFlowModel) prepares} an engine with that version for each holder in the background, and warms
+ * it up. The engine is only swapped when it is requested, i.e. between two classifications, once the new version has
+ * been published, and the old engine is closed at that time. The thread using the holder therefore never waits for a
+ * new engine, except for the first one.
+ * </p>
+ * <p>
+ * When the images are screened by a {@link ScreeningModel}, the holder also holds an engine with the screening model.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class TensorFlowEngineHolder implements AutoCloseable {
+
+    private final TensorFlowModelManager modelManager;
+    private final StageMetrics normalizationMetrics;
+    private final StageMetrics screeningMetrics;
+
+    private TensorFlowInferenceEngine engine;
+    private TensorFlowInferenceEngine screeningEngine;
+
+    // engine with a new version of the model, prepared by the manager; guarded by this holder
+    private TensorFlowInferenceEngine preparedEngine;
+    private boolean closed;
+
+    /**
+     * Create a new holder, which doesn't hold an engine yet.
+     *
+     * @param modelManager         the manager of the model
+     * @param normalizationMetrics metrics of the normalization of images, when executed separately from the model
+     */
+    public TensorFlowEngineHolder(TensorFlowModelManager modelManager, StageMetrics normalizationMetrics) {
+        this(modelManager, normalizationMetrics, StageMetrics.NONE);
+    }
+
+    /**
+     * Create a new holder, which doesn't hold an engine yet.
+     *
+     * @param modelManager         the manager of the model
+     * @param normalizationMetrics metrics of the normalization of images, when executed separately from the model
+     * @param screeningMetrics     metrics of the screening of images, when they are screened
+     */
+    public TensorFlowEngineHolder(TensorFlowModelManager modelManager, StageMetrics normalizationMetrics, StageMetrics screeningMetrics) {
+        this.modelManager = modelManager;
+        this.normalizationMetrics = normalizationMetrics;
+        this.screeningMetrics = screeningMetrics;
+        modelManager.register(this);
+    }
+
+    /**
+     * @return an engine with the current version of the model, or with the previous version while the engine with the
+     * current version hasn't been prepared yet
+     */
+    public TensorFlowInferenceEngine engine() {
+        TensorFlowInferenceEngine oldEngine = null;
+
+        synchronized (this) {
+            if (preparedEngine != null && preparedEngine.getModel() == modelManager.current()) {
+                oldEngine = engine;
+                engine = preparedEngine;
+                preparedEngine = null;
+            }
+        }
+        if (oldEngine != null) {
+            oldEngine.close();
+        }
+
+        if (engine == null) {
+            engine = createEngine(modelManager.current());
+        }
+        return engine;
+    }
+
+    /**
+     * Prepare an engine with a new version of the model, which is used as soon as that version is published.
+     *
+     * @param model the new version of the model
+     */
+    void prepare(TensorFlowModel model) {
+        TensorFlowInferenceEngine newEngine = createEngine(model);
+        TensorFlowInferenceEngine unusedEngine;
+
+        synchronized (this) {
+            if (closed) {
+                unusedEngine = newEngine;
+            } else {
+                unusedEngine = preparedEngine;
+                preparedEngine = newEngine;
+            }
+        }
+        if (unusedEngine != null) {
+            unusedEngine.close();
+        }
+    }
+
+    /**
+     * Discard the engine prepared with a version of the model which has been rejected.
+     *
+     * @param model the rejected version of the model
+     */
+    void discard(TensorFlowModel model) {
+        TensorFlowInferenceEngine unusedEngine = null;
+
+        synchronized (this) {
+            if (preparedEngine != null && preparedEngine.getModel() == model) {
+                unusedEngine = preparedEngine;
+                preparedEngine = null;
+            }
+        }
+        if (unusedEngine != null) {
+            unusedEngine.close();
+        }
+    }
+
+    /**
+     * @return an engine with the screening model, or {@code null} if the images are not screened
+     */
+    public TensorFlowInferenceEngine screeningEngine() {
+        ScreeningModel screening = modelManager.screening();
+
+        if (screening != null && screeningEngine == null) {
+            screeningEngine = createEngine(screening.getModel());
+        }
+        return screeningEngine;
+    }
+
+    /**
+     * @return the model which screens the images first, or {@code null} if images are not screened
+     */
+    ScreeningModel screening() {
+        return modelManager.screening();
+    }
+
+    StageMetrics screeningMetrics() {
+        return screeningMetrics;
+    }
+
+    private TensorFlowInferenceEngine createEngine(TensorFlowModel model) {
+        TensorFlowInferenceEngine newEngine = modelManager.createEngine(model, normalizationMetrics);
+        try {
+            newEngine.warmUp();
+        } catch (RuntimeException ex) {
+            newEngine.close();
+            throw ex;
+        }
+        return newEngine;
+    }
+
+    @Override
+    public void close() {
+        modelManager.unregister(this);
+
+        TensorFlowInferenceEngine unusedEngine;
+        synchronized (this) {
+            closed = true;
+            unusedEngine = preparedEngine;
+            preparedEngine = null;
+        }
+        if (unusedEngine != null) {
+            unusedEngine.close();
+        }
+
+        if (engine != null) {
+            engine.close();
+            engine = null;
+        }
+        if (screeningEngine != null) {
+            screeningEngine.close();
+            screeningEngine = null;
+        }
+    }
+}
@@ -17,9 +17,22 @@ import org.tensorflow.types.UInt8;
  */
 final class TensorFlowGraphBuilder {
     private final Graph g;
+    private final String scope;
 
     TensorFlowGraphBuilder(Graph g) {
+        this(g, null);
+    }
+
+    /**
+     * Create a builder which prefixes the names of all operations with the given scope, so the resulting
+     * graph can be merged with another graph (e.g. an imported model) without name clashes.
+     *
+     * @param g     the graph to build
+     * @param scope name scope of all operations, e.g. {@code preprocessing}
+     */
+    TensorFlowGraphBuilder(Graph g, String scope) {
         this.g = g;
+        this.scope = scope;
     }
 
     Output<Float> div(Output<Float> x, Output<Float> y) {
@@ -45,7 +58,7 @@ final class TensorFlowGraphBuilder {
 
     <T, U> Output<U> cast(Output<T> value, Class<U> type) {
         DataType dtype = DataType.fromClass(type);
-        return g.opBuilder("Cast", "Cast")
+        return g.opBuilder("Cast", name("Cast"))
                 .addInput(value)
                 .setAttr("DstT", dtype)
                 .build()
@@ -53,13 +66,20 @@ final class TensorFlowGraphBuilder {
     }
 
     Output<UInt8> decodeJpeg(Output<String> contents, long channels) {
-        return g.opBuilder("DecodeJpeg", "DecodeJpeg")
+        return g.opBuilder("DecodeJpeg", name("DecodeJpeg"))
                 .addInput(contents)
                 .setAttr("channels", channels)
                 .build()
                 .output(0);
     }
 
+    <T> Output<T> placeholder(String name, Class<T> type) {
+        return g.opBuilder("Placeholder", name(name))
+                .setAttr("dtype", DataType.fromClass(type))
+                .build()
+                .output(0);
+    }
+
     Output<String> constant(String name, byte[] value) {
         return this.constant(name, value, String.class);
     }
@@ -78,7 +98,7 @@ final class TensorFlowGraphBuilder {
 
     private <T> Output<T> constant(String name, Object value, Class<T> type) {
         try (Tensor<T> t = Tensor.create(value, type)) {
-            return g.opBuilder("Const", name)
+            return g.opBuilder("Const", name(name))
                     .setAttr("dtype", DataType.fromClass(type))
                     .setAttr("value", t)
                     .build()
@@ -87,10 +107,14 @@ final class TensorFlowGraphBuilder {
     }
 
     private <T> Output<T> binaryOp(String type, Output<T> in1, Output<T> in2) {
-        return g.opBuilder(type, type).addInput(in1).addInput(in2).build().output(0);
+        return g.opBuilder(type, name(type)).addInput(in1).addInput(in2).build().output(0);
     }
 
     private <T, U, V> Output<T> binaryOp3(String type, Output<U> in1, Output<V> in2) {
-        return g.opBuilder(type, type).addInput(in1).addInput(in2).build().output(0);
+        return g.opBuilder(type, name(type)).addInput(in1).addInput(in2).build().output(0);
+    }
+
+    private String name(String name) {
+        return scope == null ? name : scope + "/" + name;
     }
 }
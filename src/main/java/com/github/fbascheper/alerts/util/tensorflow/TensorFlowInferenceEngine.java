@@ -0,0 +1,279 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.github.fbascheper.alerts.util.image.ImageNormalizer;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import org.slf4j.Logger;
+import org.tensorflow.Graph;
+import org.tensorflow.Session;
+import org.tensorflow.Tensor;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Long-lived TensorFlow inference engine, which imports the model graph once and reuses
+ * the same {@link Session} for all images it classifies.
+ * <p>
+ * The model is fused with a graph that decodes, resizes and normalizes the JPEG images, which are
+ * fed through a placeholder, so each image is classified in a single {@code Session.run}.
+ * The images are fed from their buffers, using an {@link ImageTensorEncoder}. Alternatively, images are
+ * {@link ImagePreprocessing#JAVA preprocessed in Java}, and the model is fed with the normalized images.
+ * </p>
+ * <p>
+ * The normalized images of a batch and the results of the model are copied through direct buffers, and the label
+ * probabilities are returned in arrays, which are all reused by the classifications of the engine, so classifying images
+ * hardly allocates anything on the heap. The label probabilities must therefore be read before the next classification.
+ * </p>
+ * <p>
+ * An engine is not meant to be shared between threads: create one engine per stream thread
+ * (or worker) and {@link #close() close} it when that thread stops processing.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class TensorFlowInferenceEngine implements AutoCloseable {
+
+    private static final Logger LOGGER = getLogger(TensorFlowInferenceEngine.class);
+
+    static final String MODEL_INPUT = "mobilenetv2_1.00_224_input";
+    static final String MODEL_OUTPUT = "dense/Softmax";
+
+    private final TensorFlowModel model;
+    private final ImagePreprocessing preprocessing;
+    private final TensorFlowSessionOptions sessionOptions;
+    private final Graph graph;
+    private final Session session;
+    private final StageMetrics normalizationMetrics;
+    private final ImageTensorEncoder imageEncoder = new ImageTensorEncoder();
+
+    // reusable buffers holding the normalized images of a batch and the results of the model, grown when needed
+    private FloatBuffer batchBuffer = allocate(0);
+    private FloatBuffer resultBuffer = allocate(0);
+
+    // reusable label probabilities of the images of a batch, grown when needed
+    private float[][] probabilities = new float[0][];
+
+    // the number of labels of the model, taken from the shape of its first result
+    private int labelCount;
+
+    /**
+     * Create a new engine for the given graph definition.
+     *
+     * @param tfGraphDef the graph definition used by TensorFlow
+     */
+    public TensorFlowInferenceEngine(byte[] tfGraphDef) {
+        this(tfGraphDef, StageMetrics.NONE);
+    }
+
+    /**
+     * Create a new engine for the given graph definition.
+     *
+     * @param tfGraphDef           the graph definition used by TensorFlow
+     * @param normalizationMetrics metrics of the normalization of images, when executed separately from the model
+     */
+    public TensorFlowInferenceEngine(byte[] tfGraphDef, StageMetrics normalizationMetrics) {
+        this(TensorFlowModel.of(tfGraphDef), normalizationMetrics);
+    }
+
+    /**
+     * Create a new engine for a version of the model.
+     *
+     * @param model                the model, fused with the preprocessing of images
+     * @param normalizationMetrics metrics of the normalization of images, when executed separately from the model
+     */
+    public TensorFlowInferenceEngine(TensorFlowModel model, StageMetrics normalizationMetrics) {
+        this(model, ImagePreprocessing.GRAPH, normalizationMetrics);
+    }
+
+    /**
+     * Create a new engine for a version of the model.
+     *
+     * @param model                the model, fused with the preprocessing of images
+     * @param preprocessing        the way in which images are preprocessed
+     * @param normalizationMetrics metrics of the normalization of images, when executed separately from the model
+     */
+    public TensorFlowInferenceEngine(TensorFlowModel model, ImagePreprocessing preprocessing, StageMetrics normalizationMetrics) {
+        this(model, preprocessing, TensorFlowSessionOptions.DEFAULT, normalizationMetrics);
+    }
+
+    /**
+     * Create a new engine for a version of the model.
+     *
+     * @param model                the model, fused with the preprocessing of images
+     * @param preprocessing        the way in which images are preprocessed
+     * @param sessionOptions       the thread pools of the TensorFlow session
+     * @param normalizationMetrics metrics of the normalization of images, when executed separately from the model
+     */
+    public TensorFlowInferenceEngine(TensorFlowModel model, ImagePreprocessing preprocessing,
+                                     TensorFlowSessionOptions sessionOptions, StageMetrics normalizationMetrics) {
+        this.model = model;
+        this.preprocessing = preprocessing;
+        this.sessionOptions = sessionOptions;
+        this.normalizationMetrics = normalizationMetrics;
+        long start = System.nanoTime();
+
+        // Model loading: Using Graph.importGraphDef() to load a pre-trained model,
+        // preceded by the preprocessing of JPEG images.
+        this.graph = new Graph();
+        try {
+            this.graph.importGraphDef(model.getFusedGraphDef());
+            this.session = sessionOptions == TensorFlowSessionOptions.DEFAULT
+                    ? new Session(graph)
+                    : new Session(graph, sessionOptions.toConfigProto());
+        } catch (RuntimeException ex) {
+            this.graph.close();
+            throw ex;
+        }
+
+        LOGGER.info("Loaded TensorFlow model version {} in {} ms, using {}",
+                model.getVersion(), (System.nanoTime() - start) / 1_000_000L, sessionOptions);
+    }
+
+    /**
+     * @return the model of this engine
+     */
+    public TensorFlowModel getModel() {
+        return model;
+    }
+
+    /**
+     * Classify a synthetic image, so the first classification of a camera image doesn't pay for the
+     * lazy initialization of the TensorFlow session (e.g. memory allocation and kernel selection).
+     */
+    public void warmUp() {
+        classify(ByteBuffer.wrap(WarmUpImage.JPEG));
+    }
+
+    /**
+     * @return the way in which images are preprocessed
+     */
+    public ImagePreprocessing getPreprocessing() {
+        return preprocessing;
+    }
+
+    /**
+     * Execute the fused graph for a JPEG encoded image.
+     *
+     * @param jpegImage the JPEG encoded image, which is not modified
+     * @return the probabilities for each label of the model, which are overwritten by the next classification
+     */
+    float[] classify(ByteBuffer jpegImage) {
+        if (preprocessing == ImagePreprocessing.JAVA) {
+            return classify(Collections.singletonList(jpegImage))[0];
+        }
+
+        try (Tensor<String> image = imageEncoder.encode(jpegImage);
+             @SuppressWarnings("unchecked")
+             Tensor<Float> result = (Tensor<Float>) session.runner().feed(TensorFlowModelGraph.JPEG_INPUT, image).fetch(model.getOutputName()).run().get(0)) {
+            return labelProbabilities(result, 1)[0];
+        }
+    }
+
+    /**
+     * Classify a batch of JPEG encoded images in a single run of the model.
+     * <p>
+     * Each image is normalized using the preprocessing part of the fused graph (or in Java), after which the model
+     * is fed with all normalized images as a single tensor of shape [N H W 3].
+     * </p>
+     *
+     * @param jpegImages the JPEG encoded images, which are not modified
+     * @return the probabilities for each label of the model, for each of the images in the first rows, which are
+     * overwritten by the next classification
+     */
+    float[][] classify(List<ByteBuffer> jpegImages) {
+        final int batchSize = jpegImages.size();
+        if (batchSize == 1 && preprocessing == ImagePreprocessing.GRAPH) {
+            classify(jpegImages.get(0));
+            return probabilities;
+        }
+
+        final int size = model.getInputSize();
+        final int imageSize = size * size * 3;
+        if (batchBuffer.capacity() < batchSize * imageSize) {
+            batchBuffer = allocate(batchSize * imageSize);
+        }
+        FloatBuffer batch = batchBuffer;
+        batch.clear();
+
+        long start = System.nanoTime();
+        for (ByteBuffer jpegImage : jpegImages) {
+            normalize(jpegImage, batch);
+        }
+        batch.flip();
+        normalizationMetrics.recordLatency(start);
+        normalizationMetrics.recordPassed(batchSize);
+
+        long[] shape = {batchSize, size, size, 3};
+        try (Tensor<Float> images = Tensor.create(shape, batch);
+             Tensor<Float> result = session.runner().feed(model.getInputName(), images).fetch(model.getOutputName()).run().get(0).expect(Float.class)) {
+            return labelProbabilities(result, batchSize);
+        }
+    }
+
+    private void normalize(ByteBuffer jpegImage, FloatBuffer target) {
+        if (preprocessing == ImagePreprocessing.JAVA) {
+            ImageNormalizer.normalize(jpegImage, model.getInputSize(), model.getInputSize(),
+                    TensorFlowModelGraph.MEAN, TensorFlowModelGraph.SCALE, target);
+            return;
+        }
+
+        try (Tensor<String> image = imageEncoder.encode(jpegImage);
+             Tensor<Float> normalized = session.runner().feed(TensorFlowModelGraph.JPEG_INPUT, image)
+                     .fetch(TensorFlowModelGraph.NORMALIZED_IMAGE).run().get(0).expect(Float.class)) {
+            normalized.writeTo(target);
+        }
+    }
+
+    private float[][] labelProbabilities(Tensor<Float> result, int batchSize) {
+        if (labelCount == 0 && result.numDimensions() == 2) {
+            labelCount = (int) result.shape()[1];
+        }
+        if (result.numDimensions() != 2 || labelCount == 0 || result.numElements() != batchSize * labelCount) {
+            throw new RuntimeException(String.format(
+                    "Expected model to produce a [%d N] shaped tensor where N is the number of labels, instead it produced one with shape %s",
+                    batchSize, Arrays.toString(result.shape())));
+        }
+        final int nlabels = labelCount;
+
+        if (resultBuffer.capacity() < batchSize * nlabels) {
+            resultBuffer = allocate(batchSize * nlabels);
+        }
+        resultBuffer.clear();
+        result.writeTo(resultBuffer);
+        resultBuffer.flip();
+
+        if (probabilities.length < batchSize) {
+            probabilities = new float[batchSize][nlabels];
+        }
+        for (int i = 0; i < batchSize; i++) {
+            resultBuffer.get(probabilities[i]);
+        }
+        return probabilities;
+    }
+
+    private static FloatBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    @Override
+    public void close() {
+        session.close();
+        graph.close();
+        LOGGER.info("Closed TensorFlow model session");
+    }
+
+    /**
+     * Synthetic JPEG image used to warm up an engine, which is only created when needed.
+     */
+    private static final class WarmUpImage {
+
+        private static final byte[] JPEG = SyntheticImages.jpeg(TensorFlowModelGraph.DEFAULT_SIZE, TensorFlowModelGraph.DEFAULT_SIZE);
+    }
+}
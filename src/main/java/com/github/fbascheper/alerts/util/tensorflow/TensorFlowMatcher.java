@@ -2,19 +2,30 @@ package com.github.fbascheper.alerts.util.tensorflow;
 
 import com.github.fbascheper.alerts.model.avro.SerializableImage;
 import com.github.fbascheper.alerts.model.tensorflow.Classification;
+import com.github.fbascheper.alerts.model.tensorflow.ClassificationStage;
 import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
 import org.slf4j.Logger;
-import org.tensorflow.Graph;
-import org.tensorflow.Output;
-import org.tensorflow.Session;
-import org.tensorflow.Tensor;
 
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Matcher using TensorFlow.
+ * <p>
+ * When the images are screened by a {@link ScreeningModel}, the matcher runs a cascade of models: the screening model
+ * classifies each image first, and only the images it is uncertain about are classified by the full model.
+ * </p>
+ * <p>
+ * The label probabilities returned by an engine are overwritten by its next classification, so they are turned into
+ * classifications before the same engine is run again.
+ * </p>
  *
  * @author Erik-Berndt Scheper
  * @since 02-11-2018
@@ -30,89 +41,124 @@ public final class TensorFlowMatcher {
     /**
      * Match a given image and return a string that can be used as caption of an alert message.
      *
-     * @param tfGraphDef the graph definition used by TensorFlow
-     * @param image      image to matched using TensorFlow
+     * @param engine the (long-lived) inference engine holding the TensorFlow model
+     * @param image  image to matched using TensorFlow
      * @return string that can be used as caption of an alert message
      */
-    public static ImageClassification matchImage(byte[] tfGraphDef, SerializableImage image) {
+    public static ImageClassification matchImage(TensorFlowInferenceEngine engine, SerializableImage image) {
 
-        byte[] imageBytes = image.getImageData().array();
+        float[] labelProbabilities = engine.classify(image.getImageData());
 
-        try (Tensor tensor = constructAndExecuteGraphToNormalizeImage(imageBytes)) {
-            float[] labelProbabilities = executeInceptionGraph(tfGraphDef, tensor);
+        return classification(image, labelProbabilities, engine.getModel().getVersion(), ClassificationStage.FULL);
+    }
 
-            Classification classification = Classification.forLabelProbabilities(labelProbabilities);
-            float probability = labelProbabilities[classification.getIndex()] * 100f;
+    /**
+     * Match a given image using the engines of a holder, screening it first when there is a screening model.
+     *
+     * @param engines the holder of the (long-lived) inference engines
+     * @param image   image to matched using TensorFlow
+     * @return the classification of the image, decided by either stage of the cascade
+     */
+    public static ImageClassification matchImage(TensorFlowEngineHolder engines, SerializableImage image) {
+        TensorFlowInferenceEngine engine = engines.engine();
+        TensorFlowInferenceEngine screeningEngine = engines.screeningEngine();
+        if (screeningEngine == null) {
+            return matchImage(engine, image);
+        }
+
+        StageMetrics screeningMetrics = engines.screeningMetrics();
+        long start = System.nanoTime();
+        float[] screenedProbabilities = screeningEngine.classify(image.getImageData());
+        screeningMetrics.recordLatency(start);
 
-            return new ImageClassification(image, classification, probability);
+        if (engines.screening().isUncertain(screenedProbabilities)) {
+            screeningMetrics.recordPassed();
+            return matchImage(engine, image);
         }
+
+        screeningMetrics.recordDropped();
+        return classification(image, screenedProbabilities, screeningEngine.getModel().getVersion(), ClassificationStage.SCREENING);
     }
 
-    // ########################################################################################
-    // Private helper class for construction and execution of the pre-built
-    // TensorFlow model
-    // ########################################################################################
-
-    private static Tensor constructAndExecuteGraphToNormalizeImage(byte[] imageBytes) {
-        // Graph construction: using the OperationBuilder class to construct a graph to
-        // toSmartLockKeyValueList, resize and normalize a JPEG image.
-
-        try (Graph g = new Graph()) {
-            TensorFlowGraphBuilder b = new TensorFlowGraphBuilder(g);
-            // Some constants specific to the pre-trained model at:
-            // https://storage.googleapis.com/download.tensorflow.org/models/inception5h.zip
-            //
-            // - The model was trained with images scaled to 224x224 pixels.
-            // - The colors, represented as R, G, B in 1-byte each were
-            // converted to
-            // float using (value - Mean)/Scale.
-            final int H = 224;
-            final int W = 224;
-            final float mean = 117f;
-            final float scale = 1f;
-
-            // Since the graph is being constructed once per execution here, we
-            // can use a constant for the
-            // input image. If the graph were to be re-used for multiple input
-            // images, a placeholder would
-            // have been more appropriate.
-            final Output<String> input = b.constant("input", imageBytes);
-            final Output<Float> output = b
-                    .div(b.sub(
-                            b.resizeBilinear(b.expandDims(b.cast(b.decodeJpeg(input, 3), Float.class),
-                                    b.constant("make_batch", 0)), b.constant("size", new int[]{H, W})),
-                            b.constant("mean", mean)), b.constant("scale", scale));
-            try (Session s = new Session(g)) {
-                return s.runner().fetch(output.op().name()).run().get(0);
-            }
+    /**
+     * Match a batch of images in a single run of the TensorFlow model.
+     *
+     * @param engine the (long-lived) inference engine holding the TensorFlow model
+     * @param images images to matched using TensorFlow
+     * @return the classification of each image, in the same order as the images
+     */
+    public static List<ImageClassification> matchImages(TensorFlowInferenceEngine engine, List<SerializableImage> images) {
+
+        List<ByteBuffer> imageData = images.stream()
+                .map(SerializableImage::getImageData)
+                .collect(Collectors.toList());
+
+        float[][] labelProbabilities = engine.classify(imageData);
+
+        List<ImageClassification> result = new ArrayList<>(images.size());
+        for (int i = 0; i < images.size(); i++) {
+            result.add(classification(images.get(i), labelProbabilities[i], engine.getModel().getVersion(), ClassificationStage.FULL));
         }
+        return result;
     }
 
-    private static float[] executeInceptionGraph(byte[] graphDef, Tensor image) {
-
-        try (Graph g = new Graph()) {
-
-            // Model loading: Using Graph.importGraphDef() to load a pre-trained Inception
-            // model.
-            g.importGraphDef(graphDef);
-
-            // Graph execution: Using a Session to execute the graphs and find the best
-            // label for an image.
-            try (Session s = new Session(g);
-                 @SuppressWarnings({"unchecked", "rawtypes"})
-                 Tensor<Float> result = (Tensor<Float>) s.runner().feed("mobilenetv2_1.00_224_input", image).fetch("dense/Softmax").run().get(0)) {
-                final long[] rshape = result.shape();
-                if (result.numDimensions() != 2 || rshape[0] != 1) {
-                    throw new RuntimeException(String.format(
-                            "Expected model to produce a [1 N] shaped tensor where N is the number of labels, instead it produced one with shape %s",
-                            Arrays.toString(rshape)));
-                }
-                int nlabels = (int) rshape[1];
-
-                float[][] destinationArray = new float[1][nlabels];
-                result.copyTo(destinationArray);
-                return destinationArray[0];
+    /**
+     * Match a batch of images using the engines of a holder, screening them first when there is a screening model.
+     * <p>
+     * The whole batch is screened in a single run of the screening model, after which the images it is uncertain
+     * about are classified in a single run of the full model.
+     * </p>
+     *
+     * @param engines the holder of the (long-lived) inference engines
+     * @param images  images to matched using TensorFlow
+     * @return the classification of each image, in the same order as the images
+     */
+    public static List<ImageClassification> matchImages(TensorFlowEngineHolder engines, List<SerializableImage> images) {
+        TensorFlowInferenceEngine engine = engines.engine();
+        TensorFlowInferenceEngine screeningEngine = engines.screeningEngine();
+        if (screeningEngine == null) {
+            return matchImages(engine, images);
+        }
+
+        List<ByteBuffer> imageData = images.stream()
+                .map(SerializableImage::getImageData)
+                .collect(Collectors.toList());
+
+        StageMetrics screeningMetrics = engines.screeningMetrics();
+        long start = System.nanoTime();
+        float[][] screenedProbabilities = screeningEngine.classify(imageData);
+        screeningMetrics.recordLatency(start);
+
+        List<SerializableImage> uncertainImages = new ArrayList<>();
+        for (int i = 0; i < images.size(); i++) {
+            if (engines.screening().isUncertain(screenedProbabilities[i])) {
+                uncertainImages.add(images.get(i));
+                screeningMetrics.recordPassed();
+            } else {
+                screeningMetrics.recordDropped();
             }
         }
+
+        Iterator<ImageClassification> fullClassifications = uncertainImages.isEmpty()
+                ? Collections.emptyIterator()
+                : matchImages(engine, uncertainImages).iterator();
+
+        List<ImageClassification> result = new ArrayList<>(images.size());
+        for (int i = 0; i < images.size(); i++) {
+            if (engines.screening().isUncertain(screenedProbabilities[i])) {
+                result.add(fullClassifications.next());
+            } else {
+                result.add(classification(images.get(i), screenedProbabilities[i], screeningEngine.getModel().getVersion(), ClassificationStage.SCREENING));
+            }
+        }
+        return result;
+    }
+
+    private static ImageClassification classification(SerializableImage image, float[] labelProbabilities, String modelVersion,
+                                                      ClassificationStage stage) {
+        Classification classification = Classification.forLabelProbabilities(labelProbabilities);
+        float probability = labelProbabilities[classification.getIndex()] * 100f;
+
+        return new ImageClassification(image, classification, probability, modelVersion, stage);
     }
 }
@@ -0,0 +1,114 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import org.tensorflow.framework.GraphDef;
+import org.tensorflow.framework.NodeDef;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A version of the TensorFlow model, holding the graph definition of the model fused with the preprocessing
+ * of JPEG images, so it is only fused once for all {@link TensorFlowInferenceEngine engines} of that version.
+ * <p>
+ * The version of a model is derived from the contents of its graph definition. The size of the images is derived
+ * from the shape of the input of the model. The input and output of the model are found by
+ * {@link TensorFlowModelGraph#findInput(GraphDef)} and {@link TensorFlowModelGraph#findOutput(GraphDef)}.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class TensorFlowModel {
+
+    // number of hexadecimal digits of the SHA-256 hash used as the version
+    private static final int VERSION_LENGTH = 12;
+
+    private final String version;
+    private final String inputName;
+    private final String outputName;
+    private final int inputSize;
+    private final byte[] fusedGraphDef;
+
+    private TensorFlowModel(String version, String inputName, String outputName, int inputSize, byte[] fusedGraphDef) {
+        this.version = version;
+        this.inputName = inputName;
+        this.outputName = outputName;
+        this.inputSize = inputSize;
+        this.fusedGraphDef = fusedGraphDef;
+    }
+
+    /**
+     * Create a model from the graph definition of a model.
+     *
+     * @param tfGraphDef the graph definition of the model
+     * @return the model
+     * @throws IllegalArgumentException if the graph definition is invalid
+     */
+    public static TensorFlowModel of(byte[] tfGraphDef) {
+        GraphDef graphDef = TensorFlowModelGraph.parse(tfGraphDef);
+        NodeDef input = TensorFlowModelGraph.findInput(graphDef);
+        NodeDef output = TensorFlowModelGraph.findOutput(graphDef);
+        int inputSize = TensorFlowModelGraph.inputSize(input);
+
+        return new TensorFlowModel(version(tfGraphDef), input.getName(), output.getName(), inputSize,
+                TensorFlowModelGraph.fuseWithPreprocessing(graphDef, input.getName(), inputSize));
+    }
+
+    /**
+     * Compute the version of a model.
+     *
+     * @param tfGraphDef the graph definition of the model
+     * @return the version, i.e. the start of the (hexadecimal) SHA-256 hash of the graph definition
+     */
+    static String version(byte[] tfGraphDef) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(tfGraphDef);
+
+            StringBuilder result = new StringBuilder();
+            for (int i = 0; i < VERSION_LENGTH / 2; i++) {
+                result.append(String.format("%02x", hash[i]));
+            }
+            return result.toString();
+
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+    }
+
+    /**
+     * @return the version of the model
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the name of the input of the model, which must be fed with normalized images
+     */
+    String getInputName() {
+        return inputName;
+    }
+
+    /**
+     * @return the name of the output of the model, which holds the probability of each label
+     */
+    String getOutputName() {
+        return outputName;
+    }
+
+    /**
+     * @return the height (and width) of the normalized images of the model
+     */
+    public int getInputSize() {
+        return inputSize;
+    }
+
+    byte[] getFusedGraphDef() {
+        return fusedGraphDef;
+    }
+
+    @Override
+    public String toString() {
+        return "TensorFlowModel{version=" + version + ", inputSize=" + inputSize + "}";
+    }
+}
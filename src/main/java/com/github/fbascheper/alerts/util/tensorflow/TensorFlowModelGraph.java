@@ -0,0 +1,196 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.tensorflow.Graph;
+import org.tensorflow.Output;
+import org.tensorflow.framework.AttrValue;
+import org.tensorflow.framework.DataType;
+import org.tensorflow.framework.GraphDef;
+import org.tensorflow.framework.NodeDef;
+import org.tensorflow.framework.TensorShapeProto;
+
+/**
+ * Builder of the graph executed by the {@link TensorFlowInferenceEngine}, which fuses the
+ * preprocessing of JPEG images with the imported model, so an image is classified in a single
+ * {@code Session.run}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+final class TensorFlowModelGraph {
+
+    static final String PREPROCESSING_SCOPE = "preprocessing";
+
+    /**
+     * Placeholder of the fused graph, which must be fed with the JPEG encoded image bytes.
+     */
+    static final String JPEG_INPUT = PREPROCESSING_SCOPE + "/jpeg";
+
+    /**
+     * Operation of the fused graph which produces the normalized image, with shape [1 H W 3].
+     */
+    static final String NORMALIZED_IMAGE = PREPROCESSING_SCOPE + "/Div";
+
+    // Some constants specific to the pre-trained model:
+    //
+    // - The model was trained with images scaled to 224x224 pixels, unless the input
+    //   of a model has another (square) shape, such as a low-resolution screening model.
+    // - The colors, represented as R, G, B in 1-byte each were converted to
+    //   float using (value - Mean)/Scale.
+    static final int DEFAULT_SIZE = 224;
+    static final float MEAN = 117f;
+    static final float SCALE = 1f;
+
+    private TensorFlowModelGraph() {
+        // prevent instantiation
+    }
+
+    /**
+     * @param tfGraphDef the graph definition of a model
+     * @return the parsed graph definition
+     * @throws IllegalArgumentException if the graph definition is invalid
+     */
+    static GraphDef parse(byte[] tfGraphDef) {
+        try {
+            return GraphDef.parseFrom(tfGraphDef);
+        } catch (InvalidProtocolBufferException ex) {
+            throw new IllegalArgumentException("Could not parse TensorFlow graph definition", ex);
+        }
+    }
+
+    /**
+     * Find the input placeholder of a model, i.e. the node named {@value TensorFlowInferenceEngine#MODEL_INPUT} or,
+     * when there is no such node, the only placeholder of the model (e.g. of a MobileNetV2 with another resolution).
+     *
+     * @param model the graph definition of the model
+     * @return the input placeholder
+     * @throws IllegalArgumentException if the input of the model can't be determined
+     */
+    static NodeDef findInput(GraphDef model) {
+        NodeDef placeholder = null;
+        int placeholders = 0;
+
+        for (NodeDef node : model.getNodeList()) {
+            if (TensorFlowInferenceEngine.MODEL_INPUT.equals(node.getName())) {
+                return node;
+            }
+            if ("Placeholder".equals(node.getOp())) {
+                placeholder = node;
+                placeholders++;
+            }
+        }
+
+        if (placeholders != 1) {
+            throw new IllegalArgumentException("Model has no input named " + TensorFlowInferenceEngine.MODEL_INPUT
+                    + " and " + placeholders + " other placeholders");
+        }
+        return placeholder;
+    }
+
+    /**
+     * Find the output of a model, i.e. the node named {@value TensorFlowInferenceEngine#MODEL_OUTPUT} or, when there is
+     * no such node, the only softmax of the model (e.g. of a model trained with other layer names).
+     *
+     * @param model the graph definition of the model
+     * @return the output node
+     * @throws IllegalArgumentException if the output of the model can't be determined
+     */
+    static NodeDef findOutput(GraphDef model) {
+        NodeDef softmax = null;
+        int softmaxes = 0;
+
+        for (NodeDef node : model.getNodeList()) {
+            if (TensorFlowInferenceEngine.MODEL_OUTPUT.equals(node.getName())) {
+                return node;
+            }
+            if ("Softmax".equals(node.getOp())) {
+                softmax = node;
+                softmaxes++;
+            }
+        }
+
+        if (softmaxes != 1) {
+            throw new IllegalArgumentException("Model has no output named " + TensorFlowInferenceEngine.MODEL_OUTPUT
+                    + " and " + softmaxes + " other softmax operations");
+        }
+        return softmax;
+    }
+
+    /**
+     * @param input the input placeholder of a model
+     * @return the height (and width) of the images of the model, from the shape [N H W 3] of the placeholder
+     * or {@value #DEFAULT_SIZE} if that shape is unknown
+     */
+    static int inputSize(NodeDef input) {
+        AttrValue shape = input.getAttrOrDefault("shape", null);
+        if (shape == null || shape.getShape().getDimCount() != 4) {
+            return DEFAULT_SIZE;
+        }
+
+        TensorShapeProto.Dim height = shape.getShape().getDim(1);
+        TensorShapeProto.Dim width = shape.getShape().getDim(2);
+        if (height.getSize() <= 0 || height.getSize() != width.getSize()) {
+            return DEFAULT_SIZE;
+        }
+        return (int) height.getSize();
+    }
+
+    /**
+     * Fuse the preprocessing graph with the given model.
+     * <p>
+     * The input placeholder of the model is replaced by an {@code Identity} operation with the same name,
+     * which takes the normalized image as its input. Feeding that operation directly with a normalized
+     * tensor therefore still bypasses the preprocessing.
+     * </p>
+     *
+     * @param model     the graph definition of the model
+     * @param inputName the name of the input placeholder of the model
+     * @param size      the height (and width) to which images are resized
+     * @return the graph definition of the fused graph
+     */
+    static byte[] fuseWithPreprocessing(GraphDef model, String inputName, int size) {
+        GraphDef.Builder fused = model.toBuilder().clearNode();
+
+        addPreprocessingNodes(fused, size);
+
+        for (NodeDef node : model.getNodeList()) {
+            if (inputName.equals(node.getName())) {
+                fused.addNode(NodeDef.newBuilder()
+                        .setName(node.getName())
+                        .setOp("Identity")
+                        .addInput(NORMALIZED_IMAGE)
+                        .putAttr("T", AttrValue.newBuilder().setType(DataType.DT_FLOAT).build()));
+            } else {
+                fused.addNode(node);
+            }
+        }
+
+        return fused.build().toByteArray();
+    }
+
+    /**
+     * Add the nodes to decode, resize and normalize a JPEG image.
+     *
+     * @param fused the graph under construction
+     * @param size  the height (and width) to which images are resized
+     */
+    private static void addPreprocessingNodes(GraphDef.Builder fused, int size) {
+
+        try (Graph g = new Graph()) {
+            TensorFlowGraphBuilder b = new TensorFlowGraphBuilder(g, PREPROCESSING_SCOPE);
+
+            final Output<String> input = b.placeholder("jpeg", String.class);
+            final Output<Float> output = b
+                    .div(b.sub(
+                            b.resizeBilinear(b.expandDims(b.cast(b.decodeJpeg(input, 3), Float.class),
+                                    b.constant("make_batch", 0)), b.constant("size", new int[]{size, size})),
+                            b.constant("mean", MEAN)), b.constant("scale", SCALE));
+
+            if (!NORMALIZED_IMAGE.equals(output.op().name())) {
+                throw new IllegalStateException("Unexpected name of normalized image " + output.op().name());
+            }
+
+            fused.addAllNode(parse(g.toGraphDef()).getNodeList());
+        }
+    }
+}
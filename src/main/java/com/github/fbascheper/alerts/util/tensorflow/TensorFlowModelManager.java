@@ -0,0 +1,371 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.github.fbascheper.alerts.model.tensorflow.ClassificationStage;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyStage;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Manager of the version of the TensorFlow model used by the {@link TensorFlowEngineHolder engine holders}.
+ * <p>
+ * When the model is read from a file, that file is watched for changes. A new version of the model is loaded and
+ * warmed up in the background, as is an engine with that version for each registered engine holder, after which it is
+ * published as the {@link #current() current} model. The engine holders swap their engine for the prepared one between
+ * two classifications, so images which are being classified finish with the old version. A version which can't be
+ * loaded is rejected, keeping the current model.
+ * </p>
+ * <p>
+ * Each thread which classifies images, i.e. each stream thread or worker thread, uses a single
+ * {@link #threadEngineHolder(StageMetrics, StageMetrics) engine holder}, which is shared by all stream tasks of that
+ * thread, so the model is loaded (and prepared on a new version) once per thread, rather than once per task.
+ * </p>
+ * <p>
+ * Optionally, the images are screened by a fixed {@link ScreeningModel}, before they are classified by the model.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class TensorFlowModelManager implements AutoCloseable {
+
+    private static final Logger LOGGER = getLogger(TensorFlowModelManager.class);
+
+    // time to wait for more changes of the model file, so a file which is still being written is not loaded
+    private static final long SETTLE_TIME_MS = 1000L;
+
+    private final Path modelFile;
+    private final ImagePreprocessing preprocessing;
+    private final TensorFlowSessionOptions sessionOptions;
+    private final ScreeningModel screening;
+    private final StageMetrics loadingMetrics;
+    private final TopologyMetrics metrics;
+
+    // the engine holders which are not closed yet; guarded by itself
+    private final Set<TensorFlowEngineHolder> holders = new HashSet<>();
+
+    // the engine holders shared by everything running on a thread, keyed by that thread; guarded by itself
+    private final Map<Thread, TensorFlowEngineHolder> threadHolders = new HashMap<>();
+
+    private volatile TensorFlowModel current;
+    private WatchService watchService;
+
+    /**
+     * Create a manager of a fixed model.
+     *
+     * @param tfGraphDef the graph definition of the model
+     * @param metrics    metrics of the burglar alerts topology
+     */
+    public TensorFlowModelManager(byte[] tfGraphDef, TopologyMetrics metrics) {
+        this(tfGraphDef, ImagePreprocessing.GRAPH, TensorFlowSessionOptions.DEFAULT, null, metrics);
+    }
+
+    /**
+     * Create a manager of a fixed model.
+     *
+     * @param tfGraphDef     the graph definition of the model
+     * @param preprocessing  the way in which images are preprocessed by the engines
+     * @param sessionOptions the thread pools of the TensorFlow sessions of the engines
+     * @param screening      the model which screens the images first, or {@code null} if images are not screened
+     * @param metrics        metrics of the burglar alerts topology
+     */
+    public TensorFlowModelManager(byte[] tfGraphDef, ImagePreprocessing preprocessing, TensorFlowSessionOptions sessionOptions,
+                                  ScreeningModel screening, TopologyMetrics metrics) {
+        this(null, TensorFlowModel.of(tfGraphDef), preprocessing, sessionOptions, screening, metrics);
+    }
+
+    private TensorFlowModelManager(Path modelFile, TensorFlowModel model, ImagePreprocessing preprocessing,
+                                   TensorFlowSessionOptions sessionOptions, ScreeningModel screening, TopologyMetrics metrics) {
+        this.modelFile = modelFile;
+        this.preprocessing = preprocessing;
+        this.sessionOptions = sessionOptions;
+        this.screening = screening;
+        this.loadingMetrics = metrics.stage(TopologyStage.MODEL_LOADING);
+        this.metrics = metrics;
+        publish(model);
+    }
+
+    /**
+     * Create a manager of a model read from a file, which is watched for new versions of the model.
+     *
+     * @param modelFile the file holding the graph definition of the model
+     * @param metrics   metrics of the burglar alerts topology
+     * @return the manager
+     */
+    public static TensorFlowModelManager watching(Path modelFile, TopologyMetrics metrics) {
+        return watching(modelFile, ImagePreprocessing.GRAPH, TensorFlowSessionOptions.DEFAULT, null, metrics);
+    }
+
+    /**
+     * Create a manager of a model read from a file, which is watched for new versions of the model.
+     *
+     * @param modelFile      the file holding the graph definition of the model
+     * @param preprocessing  the way in which images are preprocessed by the engines
+     * @param sessionOptions the thread pools of the TensorFlow sessions of the engines
+     * @param screening      the model which screens the images first, or {@code null} if images are not screened
+     * @param metrics        metrics of the burglar alerts topology
+     * @return the manager
+     */
+    public static TensorFlowModelManager watching(Path modelFile, ImagePreprocessing preprocessing, TensorFlowSessionOptions sessionOptions,
+                                                  ScreeningModel screening, TopologyMetrics metrics) {
+        TensorFlowModelManager manager = new TensorFlowModelManager(
+                modelFile, TensorFlowModel.of(readModel(modelFile)), preprocessing, sessionOptions, screening, metrics);
+        manager.startWatching();
+        return manager;
+    }
+
+    /**
+     * Create a new engine with the given version of the model, which must be closed by the caller.
+     *
+     * @param model                the version of the model
+     * @param normalizationMetrics metrics of the normalization of images, when executed separately from the model
+     * @return the engine
+     */
+    TensorFlowInferenceEngine createEngine(TensorFlowModel model, StageMetrics normalizationMetrics) {
+        return new TensorFlowInferenceEngine(model, preprocessing, sessionOptions, normalizationMetrics);
+    }
+
+    /**
+     * Get the engine holder of the calling thread, which is created on the first call, and shared by all subsequent
+     * callers on that thread, such as the stream tasks of a stream thread. Its engines are kept as long as the thread
+     * lives, regardless of the tasks assigned to it, and are closed by {@link #closeThreadEngineHolder(Thread)} or
+     * when this manager is closed.
+     *
+     * @param normalizationMetrics metrics of the normalization of images, when executed separately from the model
+     * @param screeningMetrics     metrics of the screening of images, when they are screened
+     * @return the engine holder of the calling thread, which must not be closed by the caller
+     */
+    public TensorFlowEngineHolder threadEngineHolder(StageMetrics normalizationMetrics, StageMetrics screeningMetrics) {
+        Thread thread = Thread.currentThread();
+        synchronized (threadHolders) {
+            TensorFlowEngineHolder holder = threadHolders.get(thread);
+            if (holder == null) {
+                holder = new TensorFlowEngineHolder(this, normalizationMetrics, screeningMetrics);
+                threadHolders.put(thread, holder);
+                LOGGER.debug("Created TensorFlow engine holder of thread {}", thread.getName());
+            }
+            return holder;
+        }
+    }
+
+    /**
+     * Close the engine holder of a thread which terminates, or has terminated.
+     *
+     * @param thread the thread
+     */
+    public void closeThreadEngineHolder(Thread thread) {
+        TensorFlowEngineHolder holder;
+        synchronized (threadHolders) {
+            holder = threadHolders.remove(thread);
+        }
+        if (holder != null) {
+            holder.close();
+        }
+    }
+
+    void register(TensorFlowEngineHolder holder) {
+        synchronized (holders) {
+            holders.add(holder);
+        }
+    }
+
+    void unregister(TensorFlowEngineHolder holder) {
+        synchronized (holders) {
+            holders.remove(holder);
+        }
+    }
+
+    /**
+     * @return the model which screens the images first, or {@code null} if images are not screened
+     */
+    public ScreeningModel screening() {
+        return screening;
+    }
+
+    /**
+     * @return the current version of the model
+     */
+    public TensorFlowModel current() {
+        return current;
+    }
+
+    /**
+     * Check whether a classification was decided by a model which is still in use, so it may be reused.
+     * <p>
+     * A classification by the screening model doesn't depend on the version of the full model, so it remains valid
+     * when a new version of the full model is published.
+     * </p>
+     *
+     * @param modelVersion the version of the model which decided the classification
+     * @param stage        the stage of the cascade of models which decided the classification
+     * @return {@code true} if the model which decided the classification is still used at that stage
+     */
+    public boolean isCurrent(String modelVersion, ClassificationStage stage) {
+        if (stage == ClassificationStage.SCREENING) {
+            return screening != null && screening.getModel().getVersion().equals(modelVersion);
+        }
+        return current.getVersion().equals(modelVersion);
+    }
+
+    private void publish(TensorFlowModel model) {
+        this.current = model;
+        metrics.modelVersion().set(model.getVersion());
+        LOGGER.info("Using TensorFlow model version {}{}", model.getVersion(), screening != null ? ", screened by " + screening : "");
+    }
+
+    private void startWatching() {
+        try {
+            Path directory = modelFile.toAbsolutePath().getParent();
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not watch TensorFlow model file " + modelFile, ex);
+        }
+
+        Thread watcher = new Thread(this::watch, "tensorflow-model-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        LOGGER.info("Watching TensorFlow model file {} for new versions", modelFile);
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = isModelFileChanged(key);
+
+                // collect all changes of the model file until it has settled
+                WatchKey next;
+                while ((next = watchService.poll(SETTLE_TIME_MS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= isModelFileChanged(next);
+                }
+
+                if (changed) {
+                    reload();
+                }
+            }
+
+        } catch (ClosedWatchServiceException ex) {
+            LOGGER.debug("Stopped watching TensorFlow model file {}", modelFile);
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isModelFileChanged(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path && modelFile.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Load and warm up the model file in a separate engine, and publish it when it differs from the current model,
+     * once an engine with the new version has been prepared for each engine holder.
+     */
+    void reload() {
+        long start = System.nanoTime();
+
+        try {
+            byte[] tfGraphDef = readModel(modelFile);
+            if (TensorFlowModel.version(tfGraphDef).equals(current.getVersion())) {
+                return;
+            }
+
+            TensorFlowModel model = TensorFlowModel.of(tfGraphDef);
+            try (TensorFlowInferenceEngine engine = createEngine(model, StageMetrics.NONE)) {
+                engine.warmUp();
+            }
+
+            prepareAndPublish(model);
+            loadingMetrics.recordLatency(start);
+            loadingMetrics.recordPassed();
+
+        } catch (RuntimeException ex) {
+            loadingMetrics.recordDropped();
+            LOGGER.error("Could not load new version of TensorFlow model file " + modelFile + ", keeping version " + current.getVersion(), ex);
+        }
+    }
+
+    private void prepareAndPublish(TensorFlowModel model) {
+        Set<TensorFlowEngineHolder> prepared = new HashSet<>();
+
+        try {
+            while (true) {
+                // prepare the engines outside the lock, so holders can be registered meanwhile
+                List<TensorFlowEngineHolder> unprepared = new ArrayList<>();
+                synchronized (holders) {
+                    holders.stream().filter(holder -> !prepared.contains(holder)).forEach(unprepared::add);
+                    if (unprepared.isEmpty()) {
+                        publish(model);
+                        return;
+                    }
+                }
+
+                for (TensorFlowEngineHolder holder : unprepared) {
+                    holder.prepare(model);
+                    prepared.add(holder);
+                }
+            }
+
+        } catch (RuntimeException ex) {
+            prepared.forEach(holder -> holder.discard(model));
+            throw ex;
+        }
+    }
+
+    private static byte[] readModel(Path modelFile) {
+        try {
+            return Files.readAllBytes(modelFile);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read TensorFlow model file " + modelFile, ex);
+        }
+    }
+
+    /**
+     * Stop watching the model file, and close the engine holders of all threads, which must have terminated.
+     */
+    @Override
+    public void close() {
+        List<TensorFlowEngineHolder> unusedHolders;
+        synchronized (threadHolders) {
+            unusedHolders = new ArrayList<>(threadHolders.values());
+            threadHolders.clear();
+        }
+        unusedHolders.forEach(TensorFlowEngineHolder::close);
+
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ex) {
+                LOGGER.warn("Could not close watch service of TensorFlow model file " + modelFile, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import org.tensorflow.framework.ConfigProto;
+
+/**
+ * The thread pools of the TensorFlow sessions created by the {@link TensorFlowInferenceEngine inference engines}.
+ * <p>
+ * TensorFlow 1.x executes the operations of all sessions of the process in two process-global thread pools, which are
+ * created by the first session: one to execute a single operation (intra-op) and one to execute independent
+ * operations (inter-op). The options of all later sessions are ignored, so all sessions must be created with the same
+ * options, sized for all sessions which run concurrently, e.g. one for each stream thread.
+ * </p>
+ * <p>
+ * Each running session occupies an inter-op thread, so a smaller inter-op pool serializes the sessions, while the
+ * intra-op pool is shared by the operations of all running sessions, so a larger intra-op pool oversubscribes the CPU.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class TensorFlowSessionOptions {
+
+    /**
+     * The default options of TensorFlow, which uses all cores in each session.
+     */
+    public static final TensorFlowSessionOptions DEFAULT = new TensorFlowSessionOptions(0, 0);
+
+    private final int intraOpThreads;
+    private final int interOpThreads;
+
+    /**
+     * Create new options.
+     *
+     * @param intraOpThreads the number of threads used to execute a single operation, or {@code 0} for the TensorFlow default
+     * @param interOpThreads the number of threads used to execute independent operations, or {@code 0} for the TensorFlow default
+     */
+    public TensorFlowSessionOptions(int intraOpThreads, int interOpThreads) {
+        if (intraOpThreads < 0 || interOpThreads < 0) {
+            throw new IllegalArgumentException("The number of threads must not be negative");
+        }
+        this.intraOpThreads = intraOpThreads;
+        this.interOpThreads = interOpThreads;
+    }
+
+    /**
+     * Create options for the process-global thread pools of sessions which run concurrently. By default, the intra-op
+     * pool has a thread for each core and the inter-op pool has a thread for each session, so all sessions can run
+     * at the same time and share the cores.
+     *
+     * @param intraOpThreads     the number of threads used to execute a single operation, or {@code 0} for the default
+     * @param interOpThreads     the number of threads used to execute independent operations, or {@code 0} for the default
+     * @param concurrentSessions the number of sessions which run concurrently
+     * @return the options
+     */
+    public static TensorFlowSessionOptions forConcurrentSessions(int intraOpThreads, int interOpThreads, int concurrentSessions) {
+        return new TensorFlowSessionOptions(intraOpThreads > 0 ? intraOpThreads : Runtime.getRuntime().availableProcessors(),
+                interOpThreads > 0 ? interOpThreads : Math.max(1, concurrentSessions));
+    }
+
+    public int getIntraOpThreads() {
+        return intraOpThreads;
+    }
+
+    public int getInterOpThreads() {
+        return interOpThreads;
+    }
+
+    /**
+     * @return the serialized {@code ConfigProto} of a session
+     */
+    byte[] toConfigProto() {
+        return ConfigProto.newBuilder()
+                .setIntraOpParallelismThreads(intraOpThreads)
+                .setInterOpParallelismThreads(interOpThreads)
+                .build()
+                .toByteArray();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("intra-op threads %d, inter-op threads %d", intraOpThreads, interOpThreads);
+    }
+}
@@ -0,0 +1,151 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyStage;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Pool of worker threads which classify images using TensorFlow, off the Kafka Streams threads.
+ * <p>
+ * Each worker thread uses the {@link TensorFlowModelManager#threadEngineHolder(StageMetrics, StageMetrics) engine
+ * holder of its thread}, whose engines are created on its first classification, swapped when a new version of the model
+ * is used, and closed when the worker thread terminates, i.e. when the pool is closed.
+ * </p>
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class TensorFlowWorkerPool implements AutoCloseable {
+
+    private static final Logger LOGGER = getLogger(TensorFlowWorkerPool.class);
+
+    private final TensorFlowModelManager modelManager;
+    private final TopologyMetrics metrics;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Create a new worker pool.
+     *
+     * @param modelManager the manager of the TensorFlow model
+     * @param threads      the number of worker threads
+     * @param metrics      metrics of the burglar alerts topology
+     */
+    public TensorFlowWorkerPool(TensorFlowModelManager modelManager, int threads, TopologyMetrics metrics) {
+        this.modelManager = modelManager;
+        this.metrics = metrics;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new WorkerThreadFactory());
+
+        LOGGER.info("Started TensorFlow worker pool with {} threads", threads);
+    }
+
+    /**
+     * Submit an image for classification.
+     *
+     * @param image image to matched using TensorFlow
+     * @return the future classification of the image
+     */
+    public Future<ImageClassification> submit(SerializableImage image) {
+        return executor.submit(() -> {
+            TensorFlowEngineHolder engineHolder = engineHolder();
+
+            long start = System.nanoTime();
+            ImageClassification result = TensorFlowMatcher.matchImage(engineHolder, image);
+            metrics.stage(TopologyStage.INFERENCE).recordLatency(start);
+            metrics.stage(TopologyStage.INFERENCE).recordPassed();
+
+            return result;
+        });
+    }
+
+    /**
+     * Load and warm up the inference engine of each worker thread, and wait until they're all warmed up.
+     */
+    public void warmUp() {
+        final int threads = executor.getCorePoolSize();
+        CountDownLatch warmedUp = new CountDownLatch(threads);
+
+        List<Future<?>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            // each worker waits for all others, so every worker takes exactly one of these tasks
+            futures.add(executor.submit(() -> {
+                try {
+                    TensorFlowEngineHolder engineHolder = engineHolder();
+                    engineHolder.engine();
+                    engineHolder.screeningEngine();
+                } finally {
+                    warmedUp.countDown();
+                }
+                warmedUp.await();
+                return null;
+            }));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Could not warm up TensorFlow worker pool", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TensorFlowEngineHolder engineHolder() {
+        return modelManager.threadEngineHolder(metrics.stage(TopologyStage.IMAGE_NORMALIZATION), metrics.stage(TopologyStage.SCREENING));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOGGER.warn("TensorFlow worker pool did not terminate in time");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Thread factory for worker threads, which close their inference engine when they terminate.
+     */
+    private final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Runnable worker = () -> {
+                try {
+                    runnable.run();
+                } finally {
+                    modelManager.closeThreadEngineHolder(Thread.currentThread());
+                }
+            };
+
+            Thread thread = new Thread(worker, "tensorflow-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.AlertBurst;
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.Classification;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.common.DateUtils;
+import com.github.fbascheper.alerts.util.image.PhotoRenderer;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.test.ConsumerRecordFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link AlertBurstCoalescingTransformer}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class AlertBurstCoalescingTransformerTest {
+
+    private static final String INPUT_TOPIC = "classified-images";
+    private static final String OUTPUT_TOPIC = "captions";
+
+    private static final Duration GAP = Duration.ofSeconds(10);
+    private static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    // the time at which the first image was captured: 10:10:10 in Amsterdam
+    private static final long T0 = ZonedDateTime.of(2018, 11, 5, 10, 10, 10, 0, DateUtils.ZONE_ID_EUROPE_AMSTERDAM).toInstant().toEpochMilli();
+
+    private TopologyMetrics metrics;
+    private TopologyTestDriver driver;
+    private final ConsumerRecordFactory<String, String> recordFactory =
+            new ConsumerRecordFactory<>(new StringSerializer(), new StringSerializer());
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = new TopologyMetrics("alert-burst-test");
+
+        StreamsBuilder builder = new StreamsBuilder();
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.inMemoryKeyValueStore("bursts"), Serdes.String(), TestSerdes.avro(AlertBurst.class)));
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.inMemoryKeyValueStore("burst-images"), Serdes.String(), TestSerdes.avro(SerializableImage.class)));
+
+        // each input value is a classification and its probability, e.g. BURGLAR_ALERT:0.9
+        builder.stream(INPUT_TOPIC, Consumed.with(Serdes.String(), Serdes.String()))
+                .mapValues((filename, value) -> classification(filename, value))
+                .transform(() -> new AlertBurstCoalescingTransformer("bursts", "burst-images", GAP, MAX_WAIT, PhotoRenderer.ORIGINAL, metrics),
+                        "bursts", "burst-images")
+                .mapValues(message -> message.getPhotoMessage().getCaption())
+                .to(OUTPUT_TOPIC, Produced.with(Serdes.String(), Serdes.String()));
+
+        Properties properties = new Properties();
+        properties.put(StreamsConfig.APPLICATION_ID_CONFIG, "alert-burst-test");
+        properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        properties.put(StreamsConfig.STATE_DIR_CONFIG, Files.createTempDirectory("kafka-streams").toString());
+        driver = new TopologyTestDriver(builder.build(), properties);
+    }
+
+    @After
+    public void tearDown() {
+        driver.close();
+        metrics.close();
+    }
+
+    @Test
+    public void closesBurstAfterGap() {
+        pipe("garden/a.jpg", "BURGLAR_ALERT:0.6", T0);
+        pipe("garden/b.jpg", "BURGLAR_ALERT:0.9", T0 + 2_000L);
+        pipe("garden/c.jpg", "NO_BURGLAR_ALERT:0.8", T0 + 4_000L);
+        assertThat(readOutput(), is(nullValue()));
+
+        // captured after the gap, although processed right away
+        pipe("garden/d.jpg", "BURGLAR_ALERT:0.7", T0 + 20_000L);
+
+        ProducerRecord<String, String> message = readOutput();
+        assertThat(message.key(), is("garden/b.jpg"));
+        assertThat(message.value(), containsString("camera garden, 2 of 3 images between 10:10:10 and 10:10:14; best match garden/b.jpg"));
+        assertThat(readOutput(), is(nullValue()));
+
+        // no image of the camera is processed for the gap
+        driver.advanceWallClockTime(GAP.toMillis() + 1_000L);
+
+        message = readOutput();
+        assertThat(message.key(), is("garden/d.jpg"));
+        assertThat(message.value(), containsString("camera garden, 1 of 1 images between 10:10:30 and 10:10:30"));
+    }
+
+    @Test
+    public void closesBurstAfterMaxWait() {
+        for (int i = 0; i < 12; i++) {
+            pipe("garden/" + i + ".jpg", i == 3 ? "BURGLAR_ALERT:0.8" : "BURGLAR_ALERT:0.5", T0 + i * 5_000L);
+        }
+        assertThat(readOutput(), is(nullValue()));
+
+        // captured within the gap of the previous image, but the max. wait after the first image
+        pipe("garden/12.jpg", "BURGLAR_ALERT:0.9", T0 + 60_000L);
+
+        ProducerRecord<String, String> message = readOutput();
+        assertThat(message.key(), is("garden/3.jpg"));
+        assertThat(message.value(), containsString("camera garden, 12 of 12 images between 10:10:10 and 10:11:05; best match garden/3.jpg"));
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    @Test
+    public void coalescesImagesOfEachCamera() {
+        pipe("garden/a.jpg", "NO_BURGLAR_ALERT:0.9", T0);
+        pipe("street/a.jpg", "BURGLAR_ALERT:0.6", T0 + 1_000L);
+        pipe("garden/b.jpg", "BURGLAR_ALERT:0.7", T0 + 2_000L);
+        pipe("street/b.jpg", "NO_BURGLAR_ALERT:0.8", T0 + 3_000L);
+        assertThat(readOutput(), is(nullValue()));
+
+        driver.advanceWallClockTime(GAP.toMillis() + 1_000L);
+
+        ProducerRecord<String, String> garden = readOutput();
+        ProducerRecord<String, String> street = readOutput();
+        assertThat(garden.key(), is("garden/b.jpg"));
+        assertThat(garden.value(), containsString("camera garden, 1 of 2 images between 10:10:10 and 10:10:12"));
+        assertThat(street.key(), is("street/a.jpg"));
+        assertThat(street.value(), containsString("camera street, 1 of 2 images between 10:10:11 and 10:10:13"));
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    @Test
+    public void discardsBurstWithoutBurglarAlerts() {
+        pipe("garden/a.jpg", "NO_BURGLAR_ALERT:0.9", T0);
+        pipe("garden/b.jpg", "NO_BURGLAR_ALERT:0.8", T0 + 2_000L);
+
+        driver.advanceWallClockTime(GAP.toMillis() + 1_000L);
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    private void pipe(String filename, String value, long timestamp) {
+        driver.pipeInput(recordFactory.create(INPUT_TOPIC, filename, value, timestamp));
+    }
+
+    private ProducerRecord<String, String> readOutput() {
+        return driver.readOutput(OUTPUT_TOPIC, new StringDeserializer(), new StringDeserializer());
+    }
+
+    private static ImageClassification classification(String filename, String value) {
+        String[] classification = value.split(":");
+        SerializableImage image = new SerializableImage(filename,
+                ByteBuffer.wrap(("data of " + filename).getBytes(StandardCharsets.US_ASCII)), null, null, null);
+        return new ImageClassification(image, Classification.valueOf(classification[0]), Float.parseFloat(classification[1]), "v1");
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.EmittedAlertingState;
+import com.github.fbascheper.alerts.model.state.BurglarAlertState;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.IntegerDeserializer;
+import org.apache.kafka.common.serialization.IntegerSerializer;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.test.ConsumerRecordFactory;
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link AlertingStateChangeTransformer}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class AlertingStateChangeTransformerTest {
+
+    private static final String INPUT_TOPIC = "polled-states";
+    private static final String OUTPUT_TOPIC = "states";
+
+    private static final Duration HEARTBEAT = Duration.ofMinutes(1);
+
+    private static final int ENABLED = BurglarAlertState.SEND_MESSAGES_ENABLED.getValue();
+    private static final int DISABLED = BurglarAlertState.SEND_MESSAGES_DISABLED.getValue();
+
+    private static final long T0 = 1541409010000L;
+
+    private TopologyTestDriver driver;
+    private final ConsumerRecordFactory<String, Integer> recordFactory =
+            new ConsumerRecordFactory<>(new StringSerializer(), new IntegerSerializer());
+
+    @After
+    public void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    public void doesNotForwardUnchangedState() throws Exception {
+        createDriver(HEARTBEAT);
+
+        pipe("10", DISABLED, T0);
+        pipe("10", DISABLED, T0 + 10_000L);
+        pipe("10", DISABLED, T0 + 20_000L);
+        pipe("10", ENABLED, T0 + 30_000L);
+        pipe("10", ENABLED, T0 + 40_000L);
+
+        assertOutput("10", DISABLED);
+        assertOutput("10", ENABLED);
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    @Test
+    public void forwardsStateOfEachAccount() throws Exception {
+        createDriver(HEARTBEAT);
+
+        pipe("10", DISABLED, T0);
+        pipe("20", DISABLED, T0 + 10_000L);
+        pipe("10", DISABLED, T0 + 20_000L);
+        pipe("20", ENABLED, T0 + 30_000L);
+
+        assertOutput("10", DISABLED);
+        assertOutput("20", DISABLED);
+        assertOutput("20", ENABLED);
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    @Test
+    public void forwardsUnchangedStateAfterHeartbeat() throws Exception {
+        createDriver(HEARTBEAT);
+
+        pipe("10", DISABLED, T0);
+        pipe("10", DISABLED, T0 + 30_000L);
+        pipe("10", DISABLED, T0 + 60_000L);
+        pipe("10", DISABLED, T0 + 90_000L);
+        pipe("10", DISABLED, T0 + 120_000L);
+
+        assertOutput("10", DISABLED);
+        assertOutput("10", DISABLED);
+        assertOutput("10", DISABLED);
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    @Test
+    public void onlyForwardsChangesWithoutHeartbeat() throws Exception {
+        createDriver(Duration.ZERO);
+
+        pipe("10", DISABLED, T0);
+        pipe("10", DISABLED, T0 + 3_600_000L);
+        pipe("10", ENABLED, T0 + 7_200_000L);
+
+        assertOutput("10", DISABLED);
+        assertOutput("10", ENABLED);
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    private void createDriver(Duration heartbeat) throws Exception {
+        StreamsBuilder builder = new StreamsBuilder();
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.inMemoryKeyValueStore("emitted-states"), Serdes.String(), TestSerdes.avro(EmittedAlertingState.class)));
+
+        builder.stream(INPUT_TOPIC, Consumed.with(Serdes.String(), Serdes.Integer()))
+                .transform(() -> new AlertingStateChangeTransformer("emitted-states", heartbeat), "emitted-states")
+                .to(OUTPUT_TOPIC, Produced.with(Serdes.String(), Serdes.Integer()));
+
+        Properties properties = new Properties();
+        properties.put(StreamsConfig.APPLICATION_ID_CONFIG, "alerting-state-test");
+        properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        properties.put(StreamsConfig.STATE_DIR_CONFIG, Files.createTempDirectory("kafka-streams").toString());
+        driver = new TopologyTestDriver(builder.build(), properties);
+    }
+
+    private void pipe(String accountId, int state, long timestamp) {
+        driver.pipeInput(recordFactory.create(INPUT_TOPIC, accountId, state, timestamp));
+    }
+
+    private void assertOutput(String accountId, int state) {
+        ProducerRecord<String, Integer> record = readOutput();
+        assertThat(record.key(), is(accountId));
+        assertThat(record.value(), is(state));
+    }
+
+    private ProducerRecord<String, Integer> readOutput() {
+        return driver.readOutput(OUTPUT_TOPIC, new StringDeserializer(), new IntegerDeserializer());
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.FrameFingerprint;
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.Classification;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.image.PerceptualHash;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import com.github.fbascheper.alerts.util.tensorflow.TensorFlowModelManager;
+import com.github.fbascheper.alerts.util.tensorflow.TestModels;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.test.ConsumerRecordFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link ImageDeduplicationTransformer}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class ImageDeduplicationTransformerTest {
+
+    private static final String INPUT_TOPIC = "images";
+    private static final String OUTPUT_TOPIC = "classifications";
+
+    private static final String CLASSIFIED = "classified";
+    private static final String REUSED = "reused";
+
+    private TopologyMetrics metrics;
+    private TensorFlowModelManager modelManager;
+    private TopologyTestDriver driver;
+    private final ConsumerRecordFactory<String, byte[]> recordFactory =
+            new ConsumerRecordFactory<>(new StringSerializer(), new ByteArraySerializer());
+
+    @Before
+    public void setUp() {
+        metrics = new TopologyMetrics("dedup-test");
+        modelManager = new TensorFlowModelManager(TestModels.graphDef(0.01f), metrics);
+    }
+
+    @After
+    public void tearDown() {
+        if (driver != null) {
+            driver.close();
+        }
+        modelManager.close();
+        metrics.close();
+    }
+
+    @Test
+    public void dropsNearDuplicatesOfEachCamera() throws Exception {
+        createDriver(4);
+
+        pipe("garden/a.jpg", TestImages.scene(0, 0L));
+        pipe("street/a.jpg", TestImages.scene(0, 42L));
+        pipe("garden/b.jpg", TestImages.scene(0, 42L));
+        pipe("street/b.jpg", TestImages.scene(0, 0L));
+
+        assertOutput("garden/a.jpg", CLASSIFIED);
+        assertOutput("street/a.jpg", CLASSIFIED);
+        assertOutput("garden/b.jpg", REUSED);
+        assertOutput("street/b.jpg", REUSED);
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    @Test
+    public void comparesWithLastClassifiedImage() throws Exception {
+        createDriver(4);
+
+        pipe("garden/a.jpg", TestImages.scene(0, 0L));
+        pipe("garden/b.jpg", TestImages.scene(300, 0L));
+        pipe("garden/c.jpg", TestImages.scene(300, 42L));
+        pipe("garden/d.jpg", TestImages.scene(0, 42L));
+
+        assertOutput("garden/a.jpg", CLASSIFIED);
+        assertOutput("garden/b.jpg", CLASSIFIED);
+        assertOutput("garden/c.jpg", REUSED);
+        assertOutput("garden/d.jpg", CLASSIFIED);
+    }
+
+    @Test
+    public void dropsImageWithinHashDistance() throws Exception {
+        createDriver(hashDistance(TestImages.scene(0, 0L), TestImages.scene(20, 0L)));
+
+        pipe("garden/a.jpg", TestImages.scene(0, 0L));
+        pipe("garden/b.jpg", TestImages.scene(20, 0L));
+
+        assertOutput("garden/a.jpg", CLASSIFIED);
+        assertOutput("garden/b.jpg", REUSED);
+    }
+
+    @Test
+    public void classifiesImageBeyondHashDistance() throws Exception {
+        int distance = hashDistance(TestImages.scene(0, 0L), TestImages.scene(20, 0L));
+        assertThat("Hamming distance " + distance, distance > 0, is(true));
+        createDriver(distance - 1);
+
+        pipe("garden/a.jpg", TestImages.scene(0, 0L));
+        pipe("garden/b.jpg", TestImages.scene(20, 0L));
+
+        assertOutput("garden/a.jpg", CLASSIFIED);
+        assertOutput("garden/b.jpg", CLASSIFIED);
+    }
+
+    private void createDriver(int maxHashDistance) throws Exception {
+        StreamsBuilder builder = new StreamsBuilder();
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.inMemoryKeyValueStore("fingerprints"), Serdes.String(), TestSerdes.avro(FrameFingerprint.class)));
+
+        @SuppressWarnings("unchecked")
+        KStream<String, ImageClassification>[] dedupStreams = builder
+                .stream(INPUT_TOPIC, Consumed.with(Serdes.String(), Serdes.ByteArray()))
+                .mapValues((filename, imageData) -> new SerializableImage(filename, ByteBuffer.wrap(imageData), null, null, null))
+                .transformValues(() -> new ImageDeduplicationTransformer("fingerprints", maxHashDistance, modelManager, metrics), "fingerprints")
+                .branch((filename, imageClassification) -> imageClassification.isClassified(),
+                        (filename, imageClassification) -> true);
+
+        // the images which are not dropped are classified as by the TensorFlow model
+        dedupStreams[1]
+                .mapValues(imageClassification -> new ImageClassification(imageClassification.getImage(),
+                        Classification.NO_BURGLAR_ALERT, 90f, modelManager.current().getVersion()))
+                .transformValues(() -> new FrameFingerprintRecorder("fingerprints"), "fingerprints")
+                .mapValues(imageClassification -> CLASSIFIED)
+                .merge(dedupStreams[0].mapValues(imageClassification -> REUSED))
+                .to(OUTPUT_TOPIC, Produced.with(Serdes.String(), Serdes.String()));
+
+        Properties properties = new Properties();
+        properties.put(StreamsConfig.APPLICATION_ID_CONFIG, "dedup-test");
+        properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        properties.put(StreamsConfig.STATE_DIR_CONFIG, Files.createTempDirectory("kafka-streams").toString());
+        driver = new TopologyTestDriver(builder.build(), properties);
+    }
+
+    private void pipe(String filename, byte[] imageData) {
+        driver.pipeInput(recordFactory.create(INPUT_TOPIC, filename, imageData));
+    }
+
+    private void assertOutput(String filename, String value) {
+        ProducerRecord<String, String> record = readOutput();
+        assertThat(record.key(), is(filename));
+        assertThat(record.value(), is(value));
+    }
+
+    private ProducerRecord<String, String> readOutput() {
+        return driver.readOutput(OUTPUT_TOPIC, new StringDeserializer(), new StringDeserializer());
+    }
+
+    private static int hashDistance(byte[] imageData1, byte[] imageData2) {
+        return PerceptualHash.hammingDistance(
+                PerceptualHash.differenceHash(ByteBuffer.wrap(imageData1)), PerceptualHash.differenceHash(ByteBuffer.wrap(imageData2)));
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.fbascheper.alerts.streams;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.test.ConsumerRecordFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link MotionDetectionTransformer}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class MotionDetectionTransformerTest {
+
+    private static final String INPUT_TOPIC = "images";
+    private static final String OUTPUT_TOPIC = "images-with-motion";
+
+    private TopologyMetrics metrics;
+    private TopologyTestDriver driver;
+    private final ConsumerRecordFactory<String, byte[]> recordFactory =
+            new ConsumerRecordFactory<>(new StringSerializer(), new ByteArraySerializer());
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = new TopologyMetrics("motion-test");
+
+        StreamsBuilder builder = new StreamsBuilder();
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.inMemoryKeyValueStore("thumbnails"), Serdes.String(), Serdes.ByteArray()));
+
+        // the street camera only passes images in which most of the scene has changed
+        builder.stream(INPUT_TOPIC, Consumed.with(Serdes.String(), Serdes.ByteArray()))
+                .mapValues((filename, imageData) -> new SerializableImage(filename, ByteBuffer.wrap(imageData), null, null, null))
+                .transformValues(() -> new MotionDetectionTransformer("thumbnails", 24, 0.02d, Collections.singletonMap("street", 0.9d), metrics),
+                        "thumbnails")
+                .filter((filename, image) -> image != null)
+                .mapValues(SerializableImage::getName)
+                .to(OUTPUT_TOPIC, Produced.with(Serdes.String(), Serdes.String()));
+
+        Properties properties = new Properties();
+        properties.put(StreamsConfig.APPLICATION_ID_CONFIG, "motion-test");
+        properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        properties.put(StreamsConfig.STATE_DIR_CONFIG, Files.createTempDirectory("kafka-streams").toString());
+        driver = new TopologyTestDriver(builder.build(), properties);
+    }
+
+    @After
+    public void tearDown() {
+        driver.close();
+        metrics.close();
+    }
+
+    @Test
+    public void dropsStaticFrames() {
+        pipe("garden/a.jpg", TestImages.scene(0, 0L));
+        pipe("garden/b.jpg", TestImages.scene(0, 42L));
+        pipe("garden/c.jpg", TestImages.scene(0, 7L));
+
+        assertThat(readOutput().key(), is("garden/a.jpg"));
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    @Test
+    public void passesMovedFrames() {
+        pipe("garden/a.jpg", TestImages.scene(0, 0L));
+        pipe("garden/b.jpg", TestImages.scene(300, 0L));
+        pipe("garden/c.jpg", TestImages.scene(300, 42L));
+        pipe("garden/d.jpg", TestImages.scene(100, 0L));
+
+        assertThat(readOutput().key(), is("garden/a.jpg"));
+        assertThat(readOutput().key(), is("garden/b.jpg"));
+        assertThat(readOutput().key(), is("garden/d.jpg"));
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    @Test
+    public void comparesFramesOfEachCamera() {
+        pipe("garden/a.jpg", TestImages.scene(0, 0L));
+        pipe("street/a.jpg", TestImages.scene(0, 42L));
+        pipe("garden/b.jpg", TestImages.scene(300, 0L));
+        pipe("street/b.jpg", TestImages.scene(0, 0L));
+
+        assertThat(readOutput().key(), is("garden/a.jpg"));
+        assertThat(readOutput().key(), is("street/a.jpg"));
+        assertThat(readOutput().key(), is("garden/b.jpg"));
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    @Test
+    public void usesMotionThresholdOfCamera() {
+        pipe("street/a.jpg", TestImages.scene(0, 0L));
+        pipe("street/b.jpg", TestImages.scene(300, 0L));
+
+        assertThat(readOutput().key(), is("street/a.jpg"));
+        assertThat(readOutput(), is(nullValue()));
+    }
+
+    @Test
+    public void passesImagesWhichCannotBeDecoded() {
+        pipe("garden/a.jpg", TestImages.scene(0, 0L));
+        pipe("garden/b.jpg", new byte[]{1, 2, 3});
+
+        assertThat(readOutput().key(), is("garden/a.jpg"));
+        assertThat(readOutput().key(), is("garden/b.jpg"));
+    }
+
+    private void pipe(String filename, byte[] imageData) {
+        driver.pipeInput(recordFactory.create(INPUT_TOPIC, filename, imageData));
+    }
+
+    private ProducerRecord<String, String> readOutput() {
+        return driver.readOutput(OUTPUT_TOPIC, new StringDeserializer(), new StringDeserializer());
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.fbascheper.alerts.streams;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * Camera images used by the tests of the transformers.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+final class TestImages {
+
+    private TestImages() {
+        // prevent instantiation
+    }
+
+    /**
+     * Create a JPEG encoded scene with a gradient background and a dark "object" at the given position,
+     * with a little random noise.
+     *
+     * @param objectX    horizontal position of the object
+     * @param noiseSeed  seed of the random noise, so scenes with another seed are nearly identical
+     * @return the JPEG encoded scene
+     */
+    static byte[] scene(int objectX, long noiseSeed) {
+        BufferedImage image = new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(noiseSeed);
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int gray = Math.min(255, x * 255 / image.getWidth() + random.nextInt(5));
+                image.setRGB(x, y, new Color(gray, gray, gray).getRGB());
+            }
+        }
+
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLACK);
+        graphics.fillRect(objectX, 100, 200, 300);
+        graphics.dispose();
+
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", output);
+            return output.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.fbascheper.alerts.streams;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Serdes of the Avro records held by the state stores of the transformers, which don't need a schema registry.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+final class TestSerdes {
+
+    private TestSerdes() {
+        // prevent instantiation
+    }
+
+    /**
+     * @param type the class of the Avro records
+     * @param <T>  the type of the Avro records
+     * @return serde which writes the records with their schema, as plain binary Avro data
+     */
+    static <T extends SpecificRecord> Serde<T> avro(Class<T> type) {
+        Schema schema = SpecificData.get().getSchema(type);
+        return Serdes.serdeFrom(new AvroSerializer<>(schema), new AvroDeserializer<>(schema));
+    }
+
+    private static final class AvroSerializer<T extends SpecificRecord> implements Serializer<T> {
+
+        private final SpecificDatumWriter<T> writer;
+
+        AvroSerializer(Schema schema) {
+            this.writer = new SpecificDatumWriter<>(schema);
+        }
+
+        @Override
+        public void configure(Map<String, ?> configs, boolean isKey) {
+        }
+
+        @Override
+        public byte[] serialize(String topic, T record) {
+            if (record == null) {
+                return null;
+            }
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+                writer.write(record, encoder);
+                encoder.flush();
+                return out.toByteArray();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class AvroDeserializer<T extends SpecificRecord> implements Deserializer<T> {
+
+        private final SpecificDatumReader<T> reader;
+
+        AvroDeserializer(Schema schema) {
+            this.reader = new SpecificDatumReader<>(schema);
+        }
+
+        @Override
+        public void configure(Map<String, ?> configs, boolean isKey) {
+        }
+
+        @Override
+        public T deserialize(String topic, byte[] data) {
+            if (data == null) {
+                return null;
+            }
+            try {
+                BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(data, null);
+                return reader.read(null, decoder);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
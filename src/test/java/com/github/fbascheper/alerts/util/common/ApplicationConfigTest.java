@@ -0,0 +1,109 @@
+package com.github.fbascheper.alerts.util.common;
+
+import com.github.fbascheper.alerts.streams.InferenceMode;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link ApplicationConfig}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class ApplicationConfigTest {
+
+    @Test
+    public void loadDefaults() {
+        ApplicationConfig config = ApplicationConfig.load();
+
+        assertThat(config.getEnum("inference.mode", InferenceMode.class), is(InferenceMode.BATCH));
+        assertThat(config.getInt("inference.batch.max-size"), is(8));
+    }
+
+    @Test
+    public void environmentOverridesDefaults() {
+        Properties defaults = new Properties();
+        defaults.setProperty("inference.batch.max-wait-ms", "200");
+        defaults.setProperty("inference.mode", "batch");
+
+        Properties result = ApplicationConfig.withOverrides(defaults,
+                Collections.singletonMap("BURGLAR_ALERTS_INFERENCE_BATCH_MAX_WAIT_MS", "50"), new Properties());
+
+        ApplicationConfig config = new ApplicationConfig(result);
+        assertThat(config.getLong("inference.batch.max-wait-ms"), is(50L));
+        assertThat(config.getEnum("inference.mode", InferenceMode.class), is(InferenceMode.BATCH));
+    }
+
+    @Test
+    public void systemPropertiesOverrideEnvironment() {
+        Properties defaults = new Properties();
+        defaults.setProperty("inference.mode", "batch");
+
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("inference.mode", "inline");
+        systemProperties.setProperty("unknown.property", "ignored");
+
+        Properties result = ApplicationConfig.withOverrides(defaults,
+                Collections.singletonMap("BURGLAR_ALERTS_INFERENCE_MODE", "batch"), systemProperties);
+
+        ApplicationConfig config = new ApplicationConfig(result);
+        assertThat(config.getEnum("inference.mode", InferenceMode.class), is(InferenceMode.INLINE));
+        assertThat(result.containsKey("unknown.property"), is(false));
+    }
+
+    @Test
+    public void configFileOverridesDefaults() throws Exception {
+        Path configFile = Files.createTempFile("burglar-alerts", ".properties");
+        Files.write(configFile, Arrays.asList("inference.mode=inline", "kafka.streams.producer.acks=all"));
+
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("kafka.streams.num.standby.replicas", "1");
+
+        ApplicationConfig config = ApplicationConfig.load(
+                Collections.singletonMap("BURGLAR_ALERTS_CONFIG_FILE", configFile.toString()), systemProperties);
+
+        assertThat(config.getEnum("inference.mode", InferenceMode.class), is(InferenceMode.INLINE));
+
+        Properties kafkaStreams = config.getProperties(ApplicationConfig.KAFKA_STREAMS_PREFIX);
+        assertThat(kafkaStreams.getProperty("producer.acks"), is("all"));
+        assertThat(kafkaStreams.getProperty("num.standby.replicas"), is("1"));
+        assertThat(kafkaStreams.getProperty("application.id"), is("tf-burglar-alerts"));
+    }
+
+    @Test
+    public void mapProperty() {
+        Properties properties = new Properties();
+        properties.setProperty("motion.camera-thresholds", " garden:0.05, street : 0.2 ");
+        properties.setProperty("empty", "");
+
+        ApplicationConfig config = new ApplicationConfig(properties);
+        assertThat(config.getMap("motion.camera-thresholds").get("garden"), is("0.05"));
+        assertThat(config.getMap("motion.camera-thresholds").get("street"), is("0.2"));
+        assertThat(config.getMap("empty").isEmpty(), is(true));
+    }
+
+    @Test
+    public void placeholders() {
+        Properties properties = new Properties();
+        properties.setProperty("directory", "${user.home}/images");
+        properties.setProperty("kafka.streams.state.dir", "${user.home}/${user.name}");
+
+        ApplicationConfig config = new ApplicationConfig(properties);
+        assertThat(config.getString("directory"), is(System.getProperty("user.home") + "/images"));
+        assertThat(config.getProperties(ApplicationConfig.KAFKA_STREAMS_PREFIX).getProperty("state.dir"),
+                is(System.getProperty("user.home") + "/" + System.getProperty("user.name")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void missingProperty() {
+        new ApplicationConfig(new Properties()).getString("inference.mode");
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.fbascheper.alerts.util.image;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link ImageBlobStore}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class ImageBlobStoreTest {
+
+    private Path directory;
+    private ImageBlobStore blobStore;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("image-blob-store");
+        blobStore = new ImageBlobStore(directory, Duration.ofHours(1), 10L);
+    }
+
+    @After
+    public void tearDown() {
+        blobStore.close();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        String reference = blobStore.put(image("image-1"));
+
+        assertThat(reference.length(), is(64));
+        assertThat(blobStore.put(image("image-1")), is(reference));
+        assertThat(blobStore.put(image("image-2")), is(not(reference)));
+        assertThat(blobStore.get(reference), is(image("image-1")));
+    }
+
+    @Test
+    public void testEvictBySize() throws Exception {
+        String reference1 = blobStore.put(image("image-1"));
+        String reference2 = blobStore.put(image("image-2"));
+        Files.setLastModifiedTime(directory.resolve(reference1.substring(0, 2)).resolve(reference1),
+                FileTime.fromMillis(System.currentTimeMillis() - 1000L));
+
+        assertThat(blobStore.evict(), is(1));
+        assertThat(blobStore.get(reference1), is(nullValue()));
+        assertThat(blobStore.get(reference2), is(image("image-2")));
+        assertThat(blobStore.touch(reference1), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidReference() {
+        blobStore.get("../../etc/passwd");
+    }
+
+    private static ByteBuffer image(String contents) {
+        return ByteBuffer.wrap(contents.getBytes(StandardCharsets.US_ASCII));
+    }
+
+}
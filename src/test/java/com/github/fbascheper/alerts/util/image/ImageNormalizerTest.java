@@ -0,0 +1,67 @@
+package com.github.fbascheper.alerts.util.image;
+
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test class for {@link ImageNormalizer}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class ImageNormalizerTest {
+
+    @Test
+    public void testNormalizeUniformImage() throws Exception {
+        FloatBuffer target = FloatBuffer.allocate(32 * 24 * 3);
+        ImageNormalizer.normalize(png(320, 240, new Color(200, 100, 50)), 32, 24, 100f, 2f, target);
+
+        assertThat(target.remaining(), is(0));
+        for (int i = 0; i < target.capacity(); i += 3) {
+            assertEquals(50f, target.get(i), 0f);
+            assertEquals(0f, target.get(i + 1), 0f);
+            assertEquals(-25f, target.get(i + 2), 0f);
+        }
+    }
+
+    @Test
+    public void testNormalizeKeepsLayout() throws Exception {
+        FloatBuffer target = FloatBuffer.allocate(64 * 64 * 3);
+        ImageNormalizer.normalize(png(256, 256, Color.WHITE), 64, 64, 0f, 1f, target);
+
+        // the top left quarter of the image is black, the rest is white
+        assertEquals(0f, target.get(0), 0f);
+        assertEquals(0f, target.get((31 * 64 + 31) * 3), 0f);
+        assertEquals(255f, target.get((31 * 64 + 32) * 3), 0f);
+        assertEquals(255f, target.get((32 * 64 + 31) * 3), 0f);
+        assertEquals(255f, target.get((63 * 64 + 63) * 3 + 2), 0f);
+    }
+
+    private static ByteBuffer png(int width, int height, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        if (color.equals(Color.WHITE)) {
+            graphics.setColor(Color.BLACK);
+            graphics.fillRect(0, 0, width / 2, height / 2);
+        }
+        graphics.dispose();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return ByteBuffer.wrap(output.toByteArray());
+    }
+}
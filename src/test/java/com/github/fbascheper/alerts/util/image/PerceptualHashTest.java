@@ -0,0 +1,80 @@
+package com.github.fbascheper.alerts.util.image;
+
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link PerceptualHash}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class PerceptualHashTest {
+
+    @Test
+    public void testNearlyIdenticalImages() throws Exception {
+        long hash1 = PerceptualHash.differenceHash(scene(0, 0L));
+        long hash2 = PerceptualHash.differenceHash(scene(0, 42L));
+
+        int distance = PerceptualHash.hammingDistance(hash1, hash2);
+        assertThat("Hamming distance " + distance, distance <= 4, is(true));
+    }
+
+    @Test
+    public void testDifferentImages() throws Exception {
+        long hash1 = PerceptualHash.differenceHash(scene(0, 0L));
+        long hash2 = PerceptualHash.differenceHash(scene(300, 0L));
+
+        int distance = PerceptualHash.hammingDistance(hash1, hash2);
+        assertThat("Hamming distance " + distance, distance > 10, is(true));
+    }
+
+    @Test
+    public void testHammingDistance() {
+        assertThat(PerceptualHash.hammingDistance(0L, 0L), is(0));
+        assertThat(PerceptualHash.hammingDistance(0b1011L, 0b0010L), is(2));
+        assertThat(PerceptualHash.hammingDistance(0L, -1L), is(64));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidImage() {
+        PerceptualHash.differenceHash(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+    }
+
+    /**
+     * Create a JPEG encoded scene with a gradient background and a dark "object" at the given position,
+     * with a little random noise.
+     */
+    private static ByteBuffer scene(int objectX, long noiseSeed) throws IOException {
+        BufferedImage image = new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(noiseSeed);
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int gray = Math.min(255, x * 255 / image.getWidth() + random.nextInt(5));
+                image.setRGB(x, y, new Color(gray, gray, gray).getRGB());
+            }
+        }
+
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLACK);
+        graphics.fillRect(objectX, 100, 200, 300);
+        graphics.dispose();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        return ByteBuffer.wrap(output.toByteArray());
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.github.fbascheper.alerts.util.image;
+
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link PhotoRenderer}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class PhotoRendererTest {
+
+    private final PhotoRenderer renderer = new PhotoRenderer(640, 0.8f);
+
+    @Test
+    public void testDownscaleLargeImage() throws Exception {
+        ByteBuffer original = jpeg(1920, 1080);
+        ByteBuffer rendered = renderer.render(original);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(rendered.array(), rendered.position(), rendered.remaining()));
+        assertThat(image.getWidth(), is(640));
+        assertThat(image.getHeight(), is(360));
+        assertThat("Rendered size " + rendered.remaining(), rendered.remaining() < original.remaining(), is(true));
+    }
+
+    @Test
+    public void testDownscaleDirectImage() throws Exception {
+        ByteBuffer heap = jpeg(1920, 1080);
+        ByteBuffer direct = ByteBuffer.allocateDirect(heap.remaining());
+        direct.put(heap.duplicate()).flip();
+
+        ByteBuffer rendered = renderer.render(direct);
+        assertThat(rendered.array(), is(renderer.render(heap).array()));
+        assertThat(direct.remaining(), is(heap.remaining()));
+    }
+
+    @Test
+    public void testKeepSmallImage() throws Exception {
+        ByteBuffer original = jpeg(640, 480);
+        assertThat(renderer.render(original), is(sameInstance(original)));
+    }
+
+    @Test
+    public void testKeepOriginalImage() throws Exception {
+        ByteBuffer original = jpeg(1920, 1080);
+        assertThat(PhotoRenderer.ORIGINAL.render(original), is(sameInstance(original)));
+    }
+
+    @Test
+    public void testKeepInvalidImage() {
+        ByteBuffer original = ByteBuffer.wrap(new byte[]{1, 2, 3});
+        assertThat(renderer.render(original), is(sameInstance(original)));
+    }
+
+    private static ByteBuffer jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(0L);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int gray = Math.min(255, x * 255 / width + random.nextInt(16));
+                image.setRGB(x, y, new Color(gray, gray, gray).getRGB());
+            }
+        }
+
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLACK);
+        graphics.fillRect(width / 4, height / 4, width / 2, height / 2);
+        graphics.dispose();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        return ByteBuffer.wrap(output.toByteArray());
+    }
+
+}
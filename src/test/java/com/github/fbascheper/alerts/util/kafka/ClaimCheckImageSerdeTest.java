@@ -0,0 +1,144 @@
+package com.github.fbascheper.alerts.util.kafka;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.util.image.ImageBlobStore;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link ClaimCheckImageSerde}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class ClaimCheckImageSerdeTest {
+
+    private static final String TOPIC = "images";
+
+    private ImageBlobStore blobStore;
+    private Serde<SerializableImage> serde;
+
+    @Before
+    public void setUp() throws IOException {
+        Path directory = Files.createTempDirectory("image-blob-store");
+
+        // a store which evicts all images when asked to
+        blobStore = new ImageBlobStore(directory, Duration.ofHours(1), 0L);
+        serde = new ClaimCheckImageSerde(Serdes.serdeFrom(new AvroSerializer(), new AvroDeserializer()), blobStore);
+    }
+
+    @After
+    public void tearDown() {
+        blobStore.close();
+    }
+
+    @Test
+    public void testRoundTrip() {
+        byte[] data = serde.serializer().serialize(TOPIC, image("image-1"));
+
+        SerializableImage reference = new AvroDeserializer().deserialize(TOPIC, data);
+        assertThat(reference.getImageRef(), is(notNullValue()));
+        assertThat(reference.getImageData().remaining(), is(0));
+
+        SerializableImage image = serde.deserializer().deserialize(TOPIC, data);
+        assertThat(image.getName(), is("image-1"));
+        assertThat(image.getImageRef(), is(reference.getImageRef()));
+        assertThat(image.getImageData(), is(image("image-1").getImageData()));
+        assertThat(ClaimCheckImageSerde.isEvicted(image), is(false));
+
+        // an image read from the blob store keeps its reference
+        assertThat(new AvroDeserializer().deserialize(TOPIC, serde.serializer().serialize(TOPIC, image)).getImageRef(),
+                is(reference.getImageRef()));
+    }
+
+    @Test
+    public void testNull() {
+        assertThat(serde.deserializer().deserialize(TOPIC, serde.serializer().serialize(TOPIC, null)), is(nullValue()));
+    }
+
+    @Test
+    public void testEvicted() throws Exception {
+        byte[] data = serde.serializer().serialize(TOPIC, image("image-1"));
+        assertThat(blobStore.evict(), is(1));
+
+        SerializableImage image = serde.deserializer().deserialize(TOPIC, data);
+        assertThat(image, is(notNullValue()));
+        assertThat(image.getName(), is("image-1"));
+        assertThat(ClaimCheckImageSerde.isEvicted(image), is(true));
+
+        // an evicted image keeps its reference, and isn't stored again without its data
+        SerializableImage reference = new AvroDeserializer().deserialize(TOPIC, serde.serializer().serialize(TOPIC, image));
+        assertThat(reference.getImageRef(), is(image.getImageRef()));
+        assertThat(blobStore.evict(), is(0));
+    }
+
+    private static SerializableImage image(String name) {
+        return new SerializableImage(name, ByteBuffer.wrap(("data of " + name).getBytes(StandardCharsets.US_ASCII)), null, null, null);
+    }
+
+    private static final class AvroSerializer implements Serializer<SerializableImage> {
+        @Override
+        public void configure(Map<String, ?> configs, boolean isKey) {
+        }
+
+        @Override
+        public byte[] serialize(String topic, SerializableImage image) {
+            if (image == null) {
+                return null;
+            }
+            try {
+                ByteBuffer buffer = image.toByteBuffer();
+                byte[] data = new byte[buffer.remaining()];
+                buffer.get(data);
+                return data;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class AvroDeserializer implements Deserializer<SerializableImage> {
+        @Override
+        public void configure(Map<String, ?> configs, boolean isKey) {
+        }
+
+        @Override
+        public SerializableImage deserialize(String topic, byte[] data) {
+            if (data == null) {
+                return null;
+            }
+            try {
+                return SerializableImage.fromByteBuffer(ByteBuffer.wrap(data));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
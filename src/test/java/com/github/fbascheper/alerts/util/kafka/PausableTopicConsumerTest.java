@@ -0,0 +1,133 @@
+package com.github.fbascheper.alerts.util.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link PausableTopicConsumer}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class PausableTopicConsumerTest {
+
+    private static final TopicPartition IMAGES_0 = new TopicPartition("images", 0);
+    private static final TopicPartition IMAGES_1 = new TopicPartition("images", 1);
+    private static final TopicPartition STATES_0 = new TopicPartition("states", 0);
+
+    private final AtomicBoolean paused = new AtomicBoolean();
+
+    private MockConsumer<byte[], byte[]> mockConsumer;
+
+    @Before
+    public void setUp() {
+        mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        mockConsumer.assign(Arrays.asList(IMAGES_0, IMAGES_1, STATES_0));
+
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        offsets.put(IMAGES_0, 0L);
+        offsets.put(IMAGES_1, 0L);
+        offsets.put(STATES_0, 0L);
+        mockConsumer.updateBeginningOffsets(offsets);
+    }
+
+    @Test
+    public void pausesTopicWhileConditionHolds() {
+        PausableTopicConsumer consumer = consumer(ResumeMode.CATCH_UP);
+
+        paused.set(true);
+        consumer.poll(Duration.ZERO);
+        assertThat(consumer.paused(), is(new HashSet<>(Arrays.asList(IMAGES_0, IMAGES_1))));
+
+        // the paused partitions are not resumed by others, such as Kafka Streams
+        consumer.resume(Arrays.asList(IMAGES_0, STATES_0));
+        assertThat(consumer.paused(), is(new HashSet<>(Arrays.asList(IMAGES_0, IMAGES_1))));
+
+        addRecord(IMAGES_0, 0L);
+        assertThat(consumer.poll(Duration.ZERO).count(), is(0));
+    }
+
+    @Test
+    public void catchesUpWhenResumed() {
+        PausableTopicConsumer consumer = consumer(ResumeMode.CATCH_UP);
+
+        paused.set(true);
+        consumer.poll(Duration.ZERO);
+        addRecord(IMAGES_0, 0L);
+        addRecord(IMAGES_0, 1L);
+
+        paused.set(false);
+        assertThat(consumer.poll(Duration.ZERO).count(), is(2));
+        assertThat(consumer.paused().isEmpty(), is(true));
+    }
+
+    @Test
+    public void skipsToEndWhenResumed() {
+        PausableTopicConsumer consumer = consumer(ResumeMode.SKIP);
+
+        paused.set(true);
+        consumer.poll(Duration.ZERO);
+        publishedWhilePaused();
+
+        paused.set(false);
+        consumer.poll(Duration.ZERO);
+        assertThat(consumer.paused().isEmpty(), is(true));
+        assertThat(consumer.position(IMAGES_0), is(5L));
+        assertThat(consumer.position(IMAGES_1), is(3L));
+        assertThat(consumer.committed(IMAGES_0).offset(), is(5L));
+        assertThat(consumer.committed(IMAGES_1).offset(), is(3L));
+    }
+
+    @Test
+    public void keepsSkippedPositionCommitted() {
+        PausableTopicConsumer consumer = consumer(ResumeMode.SKIP);
+
+        paused.set(true);
+        consumer.poll(Duration.ZERO);
+        publishedWhilePaused();
+        paused.set(false);
+        consumer.poll(Duration.ZERO);
+
+        // the position of the last record processed before the topic was paused doesn't undo the skip
+        consumer.commitSync(Collections.singletonMap(IMAGES_0, new OffsetAndMetadata(2L)));
+        assertThat(consumer.committed(IMAGES_0).offset(), is(5L));
+
+        consumer.commitSync(Collections.singletonMap(IMAGES_0, new OffsetAndMetadata(7L)));
+        assertThat(consumer.committed(IMAGES_0).offset(), is(7L));
+
+        // once a later position has been committed, offsets are committed as is
+        consumer.commitSync(Collections.singletonMap(IMAGES_0, new OffsetAndMetadata(6L)));
+        assertThat(consumer.committed(IMAGES_0).offset(), is(6L));
+    }
+
+    private PausableTopicConsumer consumer(ResumeMode resumeMode) {
+        return new PausableTopicConsumer(mockConsumer, Collections.singletonList(new PausableTopic("images", paused::get, resumeMode)));
+    }
+
+    private void publishedWhilePaused() {
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        offsets.put(IMAGES_0, 5L);
+        offsets.put(IMAGES_1, 3L);
+        mockConsumer.updateEndOffsets(offsets);
+    }
+
+    private void addRecord(TopicPartition partition, long offset) {
+        mockConsumer.addRecord(new ConsumerRecord<>(partition.topic(), partition.partition(), offset, new byte[0], new byte[0]));
+    }
+}
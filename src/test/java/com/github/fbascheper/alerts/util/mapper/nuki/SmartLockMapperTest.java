@@ -9,11 +9,14 @@ import org.apache.kafka.streams.KeyValue;
 import org.junit.Test;
 
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -47,8 +50,8 @@ public class SmartLockMapperTest {
 
         assertThat(smartLock.getState(), is(LockStates.UNLOCKED.getValue()));
 
-        KeyValue<String, Integer> alertState = SmartLockMapper.alertingEnabledMapper(null, restApiResult);
-        assertThat(alertState, is(KeyValue.pair("state", BurglarAlertState.SEND_MESSAGES_DISABLED.getValue())));
+        List<KeyValue<String, Integer>> alertStates = SmartLockMapper.alertingEnabledMapper(null, restApiResult);
+        assertThat(alertStates, is(Collections.singletonList(KeyValue.pair("345", BurglarAlertState.SEND_MESSAGES_DISABLED.getValue()))));
     }
 
     @Test
@@ -74,8 +77,84 @@ public class SmartLockMapperTest {
 
         assertThat(smartLock.getState(), is(LockStates.LOCKED.getValue()));
 
-        KeyValue<String, Integer> alertState = SmartLockMapper.alertingEnabledMapper(null, restApiResult);
-        assertThat(alertState, is(KeyValue.pair("state", BurglarAlertState.SEND_MESSAGES_ENABLED.getValue())));
+        List<KeyValue<String, Integer>> alertStates = SmartLockMapper.alertingEnabledMapper(null, restApiResult);
+        assertThat(alertStates, is(Collections.singletonList(KeyValue.pair("345", BurglarAlertState.SEND_MESSAGES_ENABLED.getValue()))));
+    }
+
+    @Test
+    public void testSmartLocksOfMultipleAccounts() {
+
+        String json = "{\"body\": [" +
+                "{\"smartlockId\": 1, \"accountId\": 10, \"name\": \"Front\", \"config\": {\"name\": \"x\", \"fobAction1\": 4}," +
+                " \"state\": {\"mode\": 2, \"state\": 1, \"trigger\": 0, \"batteryCritical\": true}, \"updateDate\": \"2018-09-05T15:13:13.071Z\"}," +
+                "{\"smartlockId\": 2, \"accountId\": 20, \"name\": \"Back\", \"state\": {\"state\": 3, \"trigger\": 1}," +
+                " \"updateDate\": \"2018-11-04T16:19:08.000Z\"}" +
+                "]}";
+
+        NukiRestApiResponse restApiResult = SmartLockMapper.toNukiResponse(json);
+        List<KeyValue<String, SerializableSmartLock>> keyValues =
+                SmartLockMapper.toSmartLockKeyValueList(null, restApiResult);
+        assertThat(keyValues.size(), is(2));
+
+        assertThat(keyValues.get(0).key, is("10/1:1536160393"));
+        assertThat(keyValues.get(0).value.getName(), is("Front"));
+        assertThat(keyValues.get(0).value.getState(), is(LockStates.LOCKED.getValue()));
+        assertThat(keyValues.get(0).value.getBatteryCritical(), is(true));
+
+        assertThat(keyValues.get(1).key, is("20/2:1541348348"));
+        assertThat(keyValues.get(1).value.getState(), is(LockStates.UNLOCKED.getValue()));
+        assertThat(keyValues.get(1).value.getTrigger(), is(1L));
+
+        List<KeyValue<String, Integer>> alertStates = SmartLockMapper.alertingEnabledMapper(null, restApiResult);
+        assertThat(alertStates, is(Arrays.asList(
+                KeyValue.pair("10", BurglarAlertState.SEND_MESSAGES_ENABLED.getValue()),
+                KeyValue.pair("20", BurglarAlertState.SEND_MESSAGES_DISABLED.getValue()))));
+
+        assertThat(SmartLockMapper.combinedAlertingEnabledMapper(null, restApiResult),
+                is(KeyValue.pair(SmartLockMapper.ALERT_STATE, BurglarAlertState.SEND_MESSAGES_DISABLED.getValue())));
+    }
+
+    @Test
+    public void testMissingOptionalFields() {
+
+        String json = "[" +
+                "{\"smartlockId\": 1, \"accountId\": 10, \"name\": \"Front\", \"state\": {\"mode\": 2, \"state\": 3}," +
+                " \"updateDate\": \"2018-09-05T15:13:13.071Z\"}," +
+                "{\"smartlockId\": 2, \"accountId\": 10, \"name\": \"Back\", \"state\": {\"state\": 1, \"trigger\": null}}," +
+                "{\"smartlockId\": 3, \"accountId\": 10, \"name\": \"Garage\", \"state\": null, \"updateDate\": null}" +
+                "]";
+
+        NukiRestApiResponse restApiResult = SmartLockMapper.toNukiResponse(json);
+        List<KeyValue<String, SerializableSmartLock>> keyValues =
+                SmartLockMapper.toSmartLockKeyValueList(null, restApiResult);
+        assertThat(keyValues.size(), is(3));
+
+        SerializableSmartLock front = keyValues.get(0).value;
+        assertThat(front.getState(), is(LockStates.UNLOCKED.getValue()));
+        assertThat(front.getTrigger(), is(0L));
+        assertThat(front.getBatteryCritical(), is(false));
+
+        SerializableSmartLock back = keyValues.get(1).value;
+        assertThat(keyValues.get(1).key, is("10/2:0"));
+        assertThat(back.getState(), is(LockStates.LOCKED.getValue()));
+        assertThat(back.getTrigger(), is(0L));
+        assertThat(back.getBatteryCritical(), is(false));
+
+        SerializableSmartLock garage = keyValues.get(2).value;
+        assertThat(garage.getName(), is("Garage"));
+        assertThat(garage.getState(), is(0L));
+        assertThat(garage.getTrigger(), is(0L));
+        assertThat(garage.getBatteryCritical(), is(false));
+        assertThat(garage.getUpdateEpochSeconds(), is(0L));
+
+        List<KeyValue<String, Integer>> alertStates = SmartLockMapper.alertingEnabledMapper(null, restApiResult);
+        assertThat(alertStates, is(Collections.singletonList(KeyValue.pair("10", BurglarAlertState.SEND_MESSAGES_DISABLED.getValue()))));
+    }
+
+    @Test
+    public void testMalformedResponse() {
+        assertThat(SmartLockMapper.toNukiResponse("[{\"smartlockId\": 234, \"accountId\": "), nullValue());
+        assertThat(SmartLockMapper.toNukiResponse("Service unavailable"), nullValue());
     }
 
 }
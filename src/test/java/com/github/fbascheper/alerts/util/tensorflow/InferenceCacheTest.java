@@ -0,0 +1,51 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.github.fbascheper.alerts.model.avro.CachedClassification;
+import org.junit.Test;
+
+import java.util.function.Predicate;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link InferenceCache}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class InferenceCacheTest {
+
+    private static final CachedClassification ALERT = new CachedClassification("BURGLAR_ALERT", 0.9f, "v1", "FULL");
+    private static final CachedClassification NO_ALERT = new CachedClassification("NO_BURGLAR_ALERT", 0.8f, "v1", "SCREENING");
+
+    @Test
+    public void getReturnsClassificationOfCurrentModelOnly() {
+        InferenceCache cache = new InferenceCache(10);
+        cache.put("a", ALERT);
+
+        assertThat(cache.get("a", byVersion("v1")), sameInstance(ALERT));
+        assertThat(cache.get("a", byVersion("v2")), nullValue());
+        assertThat(cache.get("b", byVersion("v1")), nullValue());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedClassification() {
+        InferenceCache cache = new InferenceCache(2);
+        cache.put("a", ALERT);
+        cache.put("b", NO_ALERT);
+        cache.get("a", byVersion("v1"));
+        cache.put("c", NO_ALERT);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("a", byVersion("v1")), sameInstance(ALERT));
+        assertThat(cache.get("b", byVersion("v1")), nullValue());
+        assertThat(cache.get("c", byVersion("v1")), sameInstance(NO_ALERT));
+    }
+
+    private static Predicate<CachedClassification> byVersion(String modelVersion) {
+        return classification -> classification.getModelVersion().equals(modelVersion);
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import org.junit.Test;
+import org.tensorflow.DataType;
+import org.tensorflow.Graph;
+import org.tensorflow.Output;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link ScreeningModel}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class ScreeningModelTest {
+
+    @Test
+    public void uncertainWithinBand() {
+        ScreeningModel screening = new ScreeningModel(null, 0.05f, 0.9f);
+
+        assertThat(screening.isUncertain(new float[]{0.01f, 0.99f}), is(false));
+        assertThat(screening.isUncertain(new float[]{0.05f, 0.95f}), is(true));
+        assertThat(screening.isUncertain(new float[]{0.6f, 0.4f}), is(true));
+        assertThat(screening.isUncertain(new float[]{0.95f, 0.05f}), is(false));
+    }
+
+    @Test
+    public void fullModelConfirmsAllAlertsWithMaximumOfOne() {
+        ScreeningModel screening = new ScreeningModel(null, 0.05f, 1f);
+
+        assertThat(screening.isUncertain(new float[]{1f, 0f}), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidBand() {
+        new ScreeningModel(null, 0.5f, 0.1f);
+    }
+
+    @Test
+    public void findsInputAndOutputWithOtherNames() throws Exception {
+        Path modelFile = Files.createTempFile("screening", ".pb");
+        Files.write(modelFile, TestModels.graphDef("image", "probabilities", 0.01f));
+
+        TensorFlowModel model = ScreeningModel.read(modelFile, 0.05f, 1f).getModel();
+        assertThat(model.getInputName(), is("image"));
+        assertThat(model.getOutputName(), is("probabilities"));
+
+        try (TensorFlowInferenceEngine engine = new TensorFlowInferenceEngine(model, StageMetrics.NONE)) {
+            engine.warmUp();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsModelWithoutOutput() throws Exception {
+        Path modelFile = Files.createTempFile("screening", ".pb");
+        try (Graph graph = new Graph()) {
+            Output<Float> input = graph.opBuilder("Placeholder", "image").setAttr("dtype", DataType.FLOAT).build().output(0);
+            graph.opBuilder("Identity", "logits").addInput(input).build();
+            Files.write(modelFile, graph.toGraphDef());
+        }
+
+        ScreeningModel.read(modelFile, 0.05f, 1f);
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for {@link TensorFlowEngineHolder}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class TensorFlowEngineHolderTest {
+
+    private Path modelFile;
+    private TopologyMetrics metrics;
+    private TensorFlowModelManager modelManager;
+
+    @Before
+    public void setUp() throws Exception {
+        modelFile = Files.createTempDirectory("model").resolve("model.pb");
+        Files.write(modelFile, TestModels.graphDef(0.01f));
+
+        metrics = new TopologyMetrics("engine-holder-test");
+        modelManager = TensorFlowModelManager.watching(modelFile, metrics);
+    }
+
+    @After
+    public void tearDown() {
+        modelManager.close();
+        metrics.close();
+    }
+
+    @Test
+    public void swapsToPreparedEngineOfNewVersion() throws Exception {
+        try (TensorFlowEngineHolder holder = new TensorFlowEngineHolder(modelManager, StageMetrics.NONE)) {
+            TensorFlowInferenceEngine oldEngine = holder.engine();
+            assertThat(holder.engine(), is(sameInstance(oldEngine)));
+
+            Files.write(modelFile, TestModels.graphDef(0.02f));
+            modelManager.reload();
+
+            TensorFlowInferenceEngine newEngine = holder.engine();
+            assertThat(newEngine, is(not(sameInstance(oldEngine))));
+            assertThat(newEngine.getModel(), is(sameInstance(modelManager.current())));
+            assertThat(holder.engine(), is(sameInstance(newEngine)));
+            assertClosed(oldEngine);
+        }
+    }
+
+    @Test
+    public void keepsEngineWhenNewVersionIsRejected() throws Exception {
+        try (TensorFlowEngineHolder holder = new TensorFlowEngineHolder(modelManager, StageMetrics.NONE)) {
+            TensorFlowInferenceEngine engine = holder.engine();
+
+            Files.write(modelFile, new byte[]{1, 2, 3});
+            modelManager.reload();
+
+            assertThat(holder.engine(), is(sameInstance(engine)));
+        }
+    }
+
+    @Test
+    public void closesEngines() {
+        TensorFlowEngineHolder holder = new TensorFlowEngineHolder(modelManager, StageMetrics.NONE);
+        TensorFlowInferenceEngine engine = holder.engine();
+
+        holder.close();
+        assertClosed(engine);
+    }
+
+    private static void assertClosed(TensorFlowInferenceEngine engine) {
+        try {
+            engine.warmUp();
+            fail("Engine " + engine + " is not closed");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+    }
+}
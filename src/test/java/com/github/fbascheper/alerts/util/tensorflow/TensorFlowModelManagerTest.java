@@ -0,0 +1,154 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import com.github.fbascheper.alerts.model.avro.SerializableImage;
+import com.github.fbascheper.alerts.model.tensorflow.ClassificationStage;
+import com.github.fbascheper.alerts.model.tensorflow.ImageClassification;
+import com.github.fbascheper.alerts.util.metrics.StageMetrics;
+import com.github.fbascheper.alerts.util.metrics.TopologyMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for {@link TensorFlowModelManager}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class TensorFlowModelManagerTest {
+
+    private static final long TIMEOUT_MS = 20_000L;
+
+    private Path modelFile;
+    private TopologyMetrics metrics;
+    private TensorFlowModelManager modelManager;
+
+    @Before
+    public void setUp() throws Exception {
+        modelFile = Files.createTempDirectory("model").resolve("model.pb");
+        Files.write(modelFile, TestModels.graphDef(0.01f));
+
+        metrics = new TopologyMetrics("model-manager-test");
+        modelManager = TensorFlowModelManager.watching(modelFile, metrics);
+    }
+
+    @After
+    public void tearDown() {
+        modelManager.close();
+        metrics.close();
+    }
+
+    @Test
+    public void reloadsNewVersion() throws Exception {
+        TensorFlowModel model = modelManager.current();
+        assertThat(model.getVersion(), is(TensorFlowModel.version(Files.readAllBytes(modelFile))));
+
+        modelManager.reload();
+        assertThat(modelManager.current(), is(sameInstance(model)));
+
+        byte[] newGraphDef = TestModels.graphDef(0.02f);
+        Files.write(modelFile, newGraphDef);
+        modelManager.reload();
+
+        assertThat(modelManager.current().getVersion(), is(TensorFlowModel.version(newGraphDef)));
+        assertThat(metrics.modelVersion().get(), is(TensorFlowModel.version(newGraphDef)));
+    }
+
+    @Test
+    public void rejectsInvalidVersion() throws Exception {
+        TensorFlowModel model = modelManager.current();
+
+        Files.write(modelFile, new byte[]{1, 2, 3});
+        modelManager.reload();
+
+        assertThat(modelManager.current(), is(sameInstance(model)));
+    }
+
+    @Test
+    public void sharesEngineHolderOfThread() throws Exception {
+        TensorFlowEngineHolder holder = modelManager.threadEngineHolder(StageMetrics.NONE, StageMetrics.NONE);
+        assertThat(modelManager.threadEngineHolder(StageMetrics.NONE, StageMetrics.NONE), is(sameInstance(holder)));
+
+        AtomicReference<TensorFlowEngineHolder> otherHolder = new AtomicReference<>();
+        Thread otherThread = new Thread(() -> otherHolder.set(modelManager.threadEngineHolder(StageMetrics.NONE, StageMetrics.NONE)));
+        otherThread.start();
+        otherThread.join();
+        assertThat(otherHolder.get(), is(not(sameInstance(holder))));
+
+        TensorFlowInferenceEngine engine = holder.engine();
+        modelManager.closeThreadEngineHolder(Thread.currentThread());
+        assertThat(modelManager.threadEngineHolder(StageMetrics.NONE, StageMetrics.NONE), is(not(sameInstance(holder))));
+        assertClosed(engine);
+
+        TensorFlowInferenceEngine otherEngine = otherHolder.get().engine();
+        modelManager.close();
+        assertClosed(otherEngine);
+    }
+
+    @Test
+    public void screeningDecisionsOutliveNewVersion() throws Exception {
+        // an empty uncertainty band, so the screening model decides every image
+        ScreeningModel screening = new ScreeningModel(TensorFlowModel.of(TestModels.graphDef(0.5f)), 0f, 0f);
+        TopologyMetrics screeningMetrics = new TopologyMetrics("model-manager-screening-test");
+
+        try (TensorFlowModelManager screenedManager = TensorFlowModelManager.watching(modelFile, ImagePreprocessing.GRAPH,
+                TensorFlowSessionOptions.DEFAULT, screening, screeningMetrics)) {
+            String fullVersion = screenedManager.current().getVersion();
+            SerializableImage image = new SerializableImage("image.jpg", ByteBuffer.wrap(SyntheticImages.jpeg(64, 48)), null, null, null);
+
+            ImageClassification classification = TensorFlowMatcher.matchImage(
+                    screenedManager.threadEngineHolder(StageMetrics.NONE, StageMetrics.NONE), image);
+            assertThat(classification.getStage(), is(ClassificationStage.SCREENING));
+            assertThat(classification.getModelVersion(), is(screening.getModel().getVersion()));
+
+            Files.write(modelFile, TestModels.graphDef(0.02f));
+            screenedManager.reload();
+
+            assertThat(screenedManager.isCurrent(classification.getModelVersion(), ClassificationStage.SCREENING), is(true));
+            assertThat(screenedManager.isCurrent(fullVersion, ClassificationStage.FULL), is(false));
+            assertThat(modelManager.isCurrent(classification.getModelVersion(), ClassificationStage.SCREENING), is(false));
+        } finally {
+            screeningMetrics.close();
+        }
+    }
+
+    @Test
+    public void loadsFileOnceSettled() throws Exception {
+        TensorFlowModel model = modelManager.current();
+        byte[] newGraphDef = TestModels.graphDef(0.03f);
+
+        // a file which is still being written is not loaded, as it changes again within the settle time
+        Files.write(modelFile, Arrays.copyOf(newGraphDef, newGraphDef.length / 2));
+        Thread.sleep(100L);
+        Files.write(modelFile, newGraphDef);
+        assertThat(modelManager.current(), is(sameInstance(model)));
+
+        String newVersion = TensorFlowModel.version(newGraphDef);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!modelManager.current().getVersion().equals(newVersion) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100L);
+        }
+        assertThat(modelManager.current().getVersion(), is(newVersion));
+    }
+
+    private static void assertClosed(TensorFlowInferenceEngine engine) {
+        try {
+            engine.warmUp();
+            fail("Engine " + engine + " is not closed");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import org.junit.Test;
+import org.tensorflow.framework.ConfigProto;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test class for {@link TensorFlowSessionOptions}.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public class TensorFlowSessionOptionsTest {
+
+    @Test
+    public void forConcurrentSessionsSizesSharedPools() {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        TensorFlowSessionOptions options = TensorFlowSessionOptions.forConcurrentSessions(0, 0, 6);
+        assertThat(options.getIntraOpThreads(), is(cores));
+        assertThat(options.getInterOpThreads(), is(6));
+
+        options = TensorFlowSessionOptions.forConcurrentSessions(2, 3, 6);
+        assertThat(options.getIntraOpThreads(), is(2));
+        assertThat(options.getInterOpThreads(), is(3));
+    }
+
+    @Test
+    public void toConfigProto() throws Exception {
+        ConfigProto config = ConfigProto.parseFrom(new TensorFlowSessionOptions(4, 2).toConfigProto());
+
+        assertThat(config.getIntraOpParallelismThreads(), is(4));
+        assertThat(config.getInterOpParallelismThreads(), is(2));
+    }
+}
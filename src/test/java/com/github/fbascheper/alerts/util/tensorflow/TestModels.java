@@ -0,0 +1,58 @@
+package com.github.fbascheper.alerts.util.tensorflow;
+
+import org.tensorflow.DataType;
+import org.tensorflow.Graph;
+import org.tensorflow.Output;
+import org.tensorflow.Tensor;
+import org.tensorflow.Tensors;
+
+/**
+ * Tiny TensorFlow models with the input and output of the burglar alerts model, which classify an image by the mean
+ * of its color channels.
+ *
+ * @author Erik-Berndt Scheper
+ * @since 17-10-2026
+ */
+public final class TestModels {
+
+    private TestModels() {
+        // prevent instantiation
+    }
+
+    /**
+     * @param weight weight of the red channel, so each weight yields a different version of the model
+     * @return the graph definition of the model
+     */
+    public static byte[] graphDef(float weight) {
+        return graphDef(TensorFlowInferenceEngine.MODEL_INPUT, TensorFlowInferenceEngine.MODEL_OUTPUT, weight);
+    }
+
+    /**
+     * @param inputName  name of the input placeholder
+     * @param outputName name of the output softmax
+     * @param weight     weight of the red channel, so each weight yields a different version of the model
+     * @return the graph definition of the model
+     */
+    static byte[] graphDef(String inputName, String outputName, float weight) {
+        try (Graph graph = new Graph()) {
+            Output<Float> input = graph.opBuilder("Placeholder", inputName)
+                    .setAttr("dtype", DataType.FLOAT)
+                    .build().output(0);
+
+            Output<Integer> axes;
+            try (Tensor<Integer> value = Tensors.create(new int[]{1, 2})) {
+                axes = graph.opBuilder("Const", "axes").setAttr("dtype", DataType.INT32).setAttr("value", value).build().output(0);
+            }
+            Output<Float> mean = graph.opBuilder("Mean", "mean").addInput(input).addInput(axes).build().output(0);
+
+            Output<Float> weights;
+            try (Tensor<Float> value = Tensors.create(new float[][]{{weight, 0f}, {0f, 0.01f}, {0f, 0.01f}})) {
+                weights = graph.opBuilder("Const", "weights").setAttr("dtype", DataType.FLOAT).setAttr("value", value).build().output(0);
+            }
+            Output<Float> logits = graph.opBuilder("MatMul", "logits").addInput(mean).addInput(weights).build().output(0);
+
+            graph.opBuilder("Softmax", outputName).addInput(logits).build();
+            return graph.toGraphDef();
+        }
+    }
+}